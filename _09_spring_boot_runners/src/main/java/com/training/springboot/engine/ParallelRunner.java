@@ -0,0 +1,28 @@
+package com.training.springboot.engine;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Moves a CommandLineRunner / ApplicationRunner off the startup thread.
+ *
+ * Runners of the same group run one after another in @Order order, different
+ * groups run in parallel. A group listed in dependsOn must belong to runners
+ * with a lower @Order, because those are submitted first.
+ * Non critical runners may still be running when the application reports ready.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ParallelRunner {
+
+	String group();
+
+	String[] dependsOn() default {};
+
+	boolean critical() default true;
+
+}
@@ -0,0 +1,56 @@
+package com.training.springboot.engine;
+
+import java.util.concurrent.Callable;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every {@link ParallelRunner} bean so that the call from SpringApplication
+ * to run() only hands the runner to the {@link RunnerEngine} and returns.
+ * The proxy subclasses the runner, so it can still be looked up by its own class.
+ */
+@Component
+class ParallelRunnerPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<RunnerEngine> engine;
+
+	ParallelRunnerPostProcessor(ObjectProvider<RunnerEngine> engine) {
+		this.engine = engine;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		ParallelRunner settings = AnnotationUtils.findAnnotation(bean.getClass(), ParallelRunner.class);
+		if (settings == null || !(bean instanceof CommandLineRunner || bean instanceof ApplicationRunner)) {
+			return bean;
+		}
+		ProxyFactory proxyFactory = new ProxyFactory(bean);
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+			if (!invocation.getMethod().getName().equals("run")) {
+				return invocation.proceed();
+			}
+			Object argument = invocation.getArguments()[0];
+			Callable<?> runner = () -> {
+				if (argument instanceof ApplicationArguments args) {
+					((ApplicationRunner) bean).run(args);
+				} else {
+					((CommandLineRunner) bean).run((String[]) argument);
+				}
+				return null;
+			};
+			engine.getObject().submit(beanName, settings, runner);
+			return null;
+		});
+		return proxyFactory.getProxy();
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.training.springboot.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executes the runners marked with {@link ParallelRunner}.
+ *
+ * It is itself the last runner: SpringApplication#run only returns (and the
+ * application is ready) once every critical runner has finished.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class RunnerEngine implements ApplicationRunner {
+
+	private final SimpleAsyncTaskExecutor executor;
+	// last submitted runner of every group, the next runner of the group waits for it
+	private final Map<String, CompletableFuture<Void>> groups = new HashMap<>();
+	private final List<CompletableFuture<Void>> critical = new ArrayList<>();
+
+	// virtual threads need Java 21, keep it off when running on 17
+	public RunnerEngine(@Value("${app.runners.virtual-threads:false}") boolean virtualThreads) {
+		executor = new SimpleAsyncTaskExecutor("runner-");
+		executor.setVirtualThreads(virtualThreads);
+	}
+
+	synchronized CompletableFuture<Void> submit(String name, ParallelRunner settings, Callable<?> runner) {
+		List<CompletableFuture<Void>> before = new ArrayList<>();
+		if (groups.containsKey(settings.group())) {
+			before.add(groups.get(settings.group()));
+		}
+		for (String group : settings.dependsOn()) {
+			if (!groups.containsKey(group)) {
+				throw new IllegalStateException("Runner " + name + " depends on group '" + group
+						+ "' but no runner of that group has a lower @Order");
+			}
+			before.add(groups.get(group));
+		}
+		CompletableFuture<Void> future = CompletableFuture.allOf(before.toArray(CompletableFuture[]::new))
+				.thenRunAsync(() -> call(name, runner), executor);
+		groups.put(settings.group(), future);
+		if (settings.critical()) {
+			critical.add(future);
+		}
+		return future;
+	}
+
+	private void call(String name, Callable<?> runner) {
+		long start = System.nanoTime();
+		try {
+			runner.call();
+		} catch (Exception e) {
+			System.out.println("Runner " + name + " failed: " + e);
+			throw new CompletionException(e);
+		}
+		System.out.println("Runner " + name + " finished in " + (System.nanoTime() - start) / 1_000_000 + " ms on " + Thread.currentThread().getName());
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		CompletableFuture<?>[] waiting;
+		synchronized (this) {
+			waiting = critical.toArray(CompletableFuture[]::new);
+		}
+		try {
+			CompletableFuture.allOf(waiting).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof Exception cause) {
+				throw cause;
+			}
+			throw e;
+		}
+		System.out.println("Critical runners finished, application is ready");
+	}
+
+}
@@ -0,0 +1,5 @@
+package com.training.springboot.notification;
+
+public enum Channel {
+	EMAIL, TEXT, PUSH
+}
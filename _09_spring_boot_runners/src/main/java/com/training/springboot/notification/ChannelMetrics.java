@@ -0,0 +1,56 @@
+package com.training.springboot.notification;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ChannelMetrics {
+
+	private final long startNanos = System.nanoTime();
+	final LongAdder enqueued = new LongAdder();
+	final LongAdder rejected = new LongAdder();
+	final LongAdder sent = new LongAdder();
+	final LongAdder failed = new LongAdder();
+	final LongAdder batches = new LongAdder();
+	final LongAdder retries = new LongAdder();
+
+	public long getEnqueued() {
+		return enqueued.sum();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	public long getSent() {
+		return sent.sum();
+	}
+
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	public long getBatches() {
+		return batches.sum();
+	}
+
+	public long getRetries() {
+		return retries.sum();
+	}
+
+	public double getAverageBatchSize() {
+		long count = getBatches();
+		return count == 0 ? 0 : (double) getSent() / count;
+	}
+
+	public long getSentPerSecond() {
+		long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+		return getSent() * 1000 / millis;
+	}
+
+	@Override
+	public String toString() {
+		return "enqueued=" + getEnqueued() + ", rejected=" + getRejected() + ", sent=" + getSent() + ", failed="
+				+ getFailed() + ", batches=" + getBatches() + ", avgBatch=" + String.format("%.1f", getAverageBatchSize())
+				+ ", retries=" + getRetries() + ", sent/sec=" + getSentPerSecond();
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.training.springboot.notification;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stands in for the SMTP server, SMS gateway and push provider when running locally.
+ * It prints every batch, counts what it received and can fail the first
+ * few calls of each channel to exercise the retry path.
+ */
+@Component
+public class LocalNotificationSink implements NotificationSender {
+
+	private final Map<Channel, LongAdder> received = new EnumMap<>(Channel.class);
+	private final Map<Channel, AtomicInteger> failuresLeft = new EnumMap<>(Channel.class);
+	private final long latencyMillis;
+
+	public LocalNotificationSink(@Value("${app.notification.sink.latency-ms:0}") long latencyMillis,
+			@Value("${app.notification.sink.failures:0}") int failures) {
+		this.latencyMillis = latencyMillis;
+		for (Channel channel : Channel.values()) {
+			received.put(channel, new LongAdder());
+			failuresLeft.put(channel, new AtomicInteger(failures));
+		}
+	}
+
+	@Override
+	public void send(Channel channel, List<Notification> batch) throws Exception {
+		if (latencyMillis > 0) {
+			Thread.sleep(latencyMillis);
+		}
+		if (failuresLeft.get(channel).getAndDecrement() > 0) {
+			throw new IllegalStateException(channel + " sink is unavailable");
+		}
+		for (Notification notification : batch) {
+			System.out.println("[" + channel + " -> " + notification.recipient() + "] " + notification.message());
+		}
+		received.get(channel).add(batch.size());
+	}
+
+	public long getReceived(Channel channel) {
+		return received.get(channel).sum();
+	}
+
+}
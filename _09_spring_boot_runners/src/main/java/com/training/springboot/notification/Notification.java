@@ -0,0 +1,4 @@
+package com.training.springboot.notification;
+
+public record Notification(Channel channel, String recipient, String message) {
+}
@@ -0,0 +1,192 @@
+package com.training.springboot.notification;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Queues notifications per channel and sends them in batches on background threads.
+ *
+ * Every channel has its own bounded queue and its own sender threads, so a slow
+ * push provider never holds back mails. A sender takes whatever is queued (up to
+ * batch-size, waiting at most linger-ms for more) and hands it to the
+ * {@link NotificationSender} in one call. Failed batches are retried with
+ * exponential backoff. When a queue is full, enqueue waits offer-timeout-ms and
+ * then rejects the notification instead of blocking the caller.
+ */
+@Component
+public class NotificationDispatcher {
+
+	private final NotificationSender sender;
+	private final int queueCapacity;
+	private final int batchSize;
+	private final long lingerMillis;
+	private final int sendersPerChannel;
+	private final int maxAttempts;
+	private final long backoffMillis;
+	private final long maxBackoffMillis;
+	private final long offerTimeoutMillis;
+	private final long shutdownTimeoutMillis;
+	private final Map<Channel, BlockingQueue<Notification>> queues = new EnumMap<>(Channel.class);
+	private final Map<Channel, ChannelMetrics> metrics = new EnumMap<>(Channel.class);
+	private final List<Thread> senders = new ArrayList<>();
+	// enqueue holds the read lock while it offers, stop takes the write lock to flip running,
+	// so nothing is added once the senders may have drained the queues and exited
+	private final ReadWriteLock stopping = new ReentrantReadWriteLock();
+	private volatile boolean running;
+
+	public NotificationDispatcher(NotificationSender sender,
+			@Value("${app.notification.queue-capacity:10000}") int queueCapacity,
+			@Value("${app.notification.batch-size:100}") int batchSize,
+			@Value("${app.notification.linger-ms:20}") long lingerMillis,
+			@Value("${app.notification.senders-per-channel:2}") int sendersPerChannel,
+			@Value("${app.notification.max-attempts:5}") int maxAttempts,
+			@Value("${app.notification.backoff-ms:100}") long backoffMillis,
+			@Value("${app.notification.max-backoff-ms:5000}") long maxBackoffMillis,
+			@Value("${app.notification.offer-timeout-ms:50}") long offerTimeoutMillis,
+			@Value("${app.notification.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+		this.sender = sender;
+		this.queueCapacity = queueCapacity;
+		this.batchSize = batchSize;
+		this.lingerMillis = lingerMillis;
+		this.sendersPerChannel = sendersPerChannel;
+		this.maxAttempts = maxAttempts;
+		this.backoffMillis = backoffMillis;
+		this.maxBackoffMillis = maxBackoffMillis;
+		this.offerTimeoutMillis = offerTimeoutMillis;
+		this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		for (Channel channel : Channel.values()) {
+			queues.put(channel, new ArrayBlockingQueue<>(queueCapacity));
+			metrics.put(channel, new ChannelMetrics());
+			for (int i = 1; i <= sendersPerChannel; i++) {
+				Thread thread = new Thread(() -> drain(channel), "notify-" + channel.name().toLowerCase() + "-" + i);
+				thread.setDaemon(true);
+				thread.start();
+				senders.add(thread);
+			}
+		}
+	}
+
+	/**
+	 * @return false if the channel queue stayed full for offer-timeout-ms or the dispatcher is stopping
+	 */
+	public boolean enqueue(Notification notification) throws InterruptedException {
+		ChannelMetrics channelMetrics = metrics.get(notification.channel());
+		stopping.readLock().lock();
+		try {
+			if (running && queues.get(notification.channel()).offer(notification, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				channelMetrics.enqueued.increment();
+				return true;
+			}
+		} finally {
+			stopping.readLock().unlock();
+		}
+		channelMetrics.rejected.increment();
+		return false;
+	}
+
+	public ChannelMetrics getMetrics(Channel channel) {
+		return metrics.get(channel);
+	}
+
+	public int getQueued(Channel channel) {
+		return queues.get(channel).size();
+	}
+
+	private void drain(Channel channel) {
+		BlockingQueue<Notification> queue = queues.get(channel);
+		List<Notification> batch = new ArrayList<>(batchSize);
+		try {
+			while (running || !queue.isEmpty()) {
+				Notification first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				// give messages that arrive together a moment to join the same batch
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+				while (batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long left = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || left <= 0) {
+						break;
+					}
+					Notification next = queue.poll(left, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				send(channel, batch);
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			metrics.get(channel).failed.add(batch.size());
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void send(Channel channel, List<Notification> batch) throws InterruptedException {
+		ChannelMetrics channelMetrics = metrics.get(channel);
+		long backoff = backoffMillis;
+		for (int attempt = 1;; attempt++) {
+			try {
+				sender.send(channel, batch);
+				channelMetrics.sent.add(batch.size());
+				channelMetrics.batches.increment();
+				return;
+			} catch (InterruptedException e) {
+				throw e;
+			} catch (Exception e) {
+				if (attempt >= maxAttempts) {
+					channelMetrics.failed.add(batch.size());
+					System.out.println("Giving up on " + batch.size() + " " + channel + " notification(s) after "
+							+ attempt + " attempts: " + e.getMessage());
+					return;
+				}
+				channelMetrics.retries.increment();
+				// jitter keeps the sender threads of a channel from retrying in lock step
+				Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+				backoff = Math.min(backoff * 2, maxBackoffMillis);
+			}
+		}
+	}
+
+	// lets the senders empty the queues before the application exits
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		stopping.writeLock().lock();
+		try {
+			running = false;
+		} finally {
+			stopping.writeLock().unlock();
+		}
+		long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+		for (Thread thread : senders) {
+			thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+		}
+		for (Thread thread : senders) {
+			thread.interrupt();
+		}
+		metrics.forEach((channel, channelMetrics) -> System.out.println(channel + " notifications: " + channelMetrics));
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.training.springboot.notification;
+
+import java.util.List;
+
+/**
+ * Delivers a batch of notifications of one channel, e.g. one SMTP session
+ * for many mails or one push provider request for many devices.
+ * Throwing makes the dispatcher retry the whole batch.
+ */
+public interface NotificationSender {
+
+	void send(Channel channel, List<Notification> batch) throws Exception;
+
+}
@@ -1,11 +1,20 @@
 package com.training.springboot.runners;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+
+import com.training.springboot.engine.ParallelRunner;
+import com.training.springboot.notification.Channel;
+import com.training.springboot.notification.Notification;
+import com.training.springboot.notification.NotificationDispatcher;
 @Order(1)
 @Component
+@ParallelRunner(group = "developers", critical = false)
 public class EmailNotificationRunner implements CommandLineRunner{
+	@Autowired
+	NotificationDispatcher dispatcher;
 
 	@Override
 	public void run(String... args) throws Exception {
@@ -18,9 +27,12 @@ public class EmailNotificationRunner implements CommandLineRunner{
 		System.out.println("This is Command Line Runner .....*****8");
       // Logic
       System.out.println("your application is ready to start to do operation");
-      System.out.println("Sending email to developer");
-      // sent email logic
-      System.out.println("email succesfully send");
+      // sent email logic runs on the dispatcher threads
+      if (dispatcher.enqueue(new Notification(Channel.EMAIL, "developer", "your application is ready to start to do operation"))) {
+    	  System.out.println("email to developer is queued");
+      } else {
+    	  System.out.println("email to developer is rejected, the email queue is full or shutting down");
+      }
 	}
 	public void runAnother() {
 		System.out.println("This is not part of springbot runner method");
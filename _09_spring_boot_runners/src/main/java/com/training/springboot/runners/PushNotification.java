@@ -1,11 +1,20 @@
 package com.training.springboot.runners;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+
+import com.training.springboot.engine.ParallelRunner;
+import com.training.springboot.notification.Channel;
+import com.training.springboot.notification.Notification;
+import com.training.springboot.notification.NotificationDispatcher;
 @Order(3)
 @Component
+@ParallelRunner(group = "management", critical = false)
 public class PushNotification implements CommandLineRunner{
+	@Autowired
+	NotificationDispatcher dispatcher;
 
 	@Override
 	public void run(String... args) throws Exception {
@@ -15,8 +24,11 @@ public class PushNotification implements CommandLineRunner{
 			System.out.println(arg);
 		}
 		
-		System.out.println("Sending push notification to manager team....");
-      System.out.println("Email is send");
+		if (dispatcher.enqueue(new Notification(Channel.PUSH, "manager team", "application is started"))) {
+			System.out.println("push notification to manager team is queued");
+		} else {
+			System.out.println("push notification to manager team is rejected, the push queue is full or shutting down");
+		}
 	}
 
 }
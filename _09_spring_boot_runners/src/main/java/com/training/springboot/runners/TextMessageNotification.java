@@ -2,13 +2,22 @@ package com.training.springboot.runners;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+
+import com.training.springboot.engine.ParallelRunner;
+import com.training.springboot.notification.Channel;
+import com.training.springboot.notification.Notification;
+import com.training.springboot.notification.NotificationDispatcher;
 @Order(2)
 @Component
+@ParallelRunner(group = "management", critical = false)
 public class TextMessageNotification implements ApplicationRunner{
+	@Autowired
+	NotificationDispatcher dispatcher;
 
 	@Override
 	public void run(ApplicationArguments args) throws Exception {
@@ -17,7 +26,11 @@ public class TextMessageNotification implements ApplicationRunner{
 			   System.out.println(value);
 		   }
 		
-		System.out.println("Sending Text Message to Management");
+		if (dispatcher.enqueue(new Notification(Channel.TEXT, "management", "application is started"))) {
+			System.out.println("Text Message to Management is queued");
+		} else {
+			System.out.println("Text Message to Management is rejected, the text queue is full or shutting down");
+		}
      System.out.println("");
 	}
 
@@ -0,0 +1,83 @@
+package com.training.springboot.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class NotificationDispatcherTests {
+
+	private static NotificationDispatcher dispatcher(LocalNotificationSink sink, int queueCapacity) {
+		return new NotificationDispatcher(sink, queueCapacity, 10, 5, 2, 5, 1, 10, 50, 10_000);
+	}
+
+	@Test
+	void sendsEveryQueuedNotificationBeforeStopping() throws InterruptedException {
+		LocalNotificationSink sink = new LocalNotificationSink(0, 2);
+		NotificationDispatcher dispatcher = dispatcher(sink, 1_000);
+		dispatcher.start();
+		for (int i = 0; i < 100; i++) {
+			for (Channel channel : Channel.values()) {
+				assertTrue(dispatcher.enqueue(new Notification(channel, "user" + i, "hello")));
+			}
+		}
+		dispatcher.stop();
+		for (Channel channel : Channel.values()) {
+			// the first two sends of each channel fail and are retried
+			assertEquals(100, sink.getReceived(channel));
+			assertEquals(2, dispatcher.getMetrics(channel).getRetries());
+		}
+	}
+
+	@Test
+	void rejectsWhenTheQueueIsFull() throws InterruptedException {
+		LocalNotificationSink sink = new LocalNotificationSink(200, 0);
+		NotificationDispatcher dispatcher = dispatcher(sink, 1);
+		dispatcher.start();
+		int rejected = 0;
+		for (int i = 0; i < 50; i++) {
+			rejected += dispatcher.enqueue(new Notification(Channel.PUSH, "user" + i, "hello")) ? 0 : 1;
+		}
+		dispatcher.stop();
+		assertTrue(rejected > 0);
+		assertEquals(rejected, dispatcher.getMetrics(Channel.PUSH).getRejected());
+		assertEquals(50 - rejected, sink.getReceived(Channel.PUSH));
+	}
+
+	// whatever enqueue accepted while stop() ran is sent, the rest is rejected
+	@Test
+	void acceptedNotificationsAreNotLostWhileStopping() throws InterruptedException {
+		LocalNotificationSink sink = new LocalNotificationSink(0, 0);
+		NotificationDispatcher dispatcher = dispatcher(sink, 100_000);
+		dispatcher.start();
+		AtomicInteger accepted = new AtomicInteger();
+		List<Thread> producers = new ArrayList<>();
+		for (int p = 0; p < 4; p++) {
+			Thread producer = new Thread(() -> {
+				try {
+					for (int i = 0; i < 5_000; i++) {
+						if (dispatcher.enqueue(new Notification(Channel.EMAIL, "user" + i, "hello"))) {
+							accepted.incrementAndGet();
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			producer.start();
+			producers.add(producer);
+		}
+		Thread.sleep(5);
+		dispatcher.stop();
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		assertFalse(dispatcher.enqueue(new Notification(Channel.EMAIL, "late", "hello")));
+		assertEquals(accepted.get(), sink.getReceived(Channel.EMAIL));
+	}
+}
@@ -0,0 +1,303 @@
+package com.training.springboot.loader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the employee table from a CSV file in parallel.
+ *
+ * The file is expected to be sorted by id and to have the columns
+ * id,name,email,password,mobileNo,gender,isMarried,workingHour,salary,dob,joinedAt
+ * (dates as yyyy-MM-dd and yyyy-MM-dd HH:mm:ss, empty value for null).
+ * Fields may be quoted ("a, b" or "say ""hi""") but must not contain line breaks.
+ * It is memory mapped and cut into line aligned byte ranges, so every partition
+ * is a contiguous id range. Each partition is inserted by one worker on its own
+ * connection with batched inserts and one commit per batch. At most two partitions
+ * per worker are mapped and handed to the pool at a time, the next one waits for a free slot.
+ */
+@Component
+public class EmployeeBulkLoader {
+
+    private static final String INSERT_SQL = "INSERT INTO employee "
+            + "(id, name, email, password, mobileNo, gender, isMarried, workingHour, salary, dob, joinedAt) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 11;
+    // keeps every mapped region well below the 2GB limit of a MappedByteBuffer
+    private static final long MAX_PARTITION_BYTES = 1L << 30;
+
+    private final DataSource dataSource;
+    private final int threads;
+    private final int batchSize;
+    private final int partitionsPerThread;
+    private final int reportSeconds;
+    private volatile LoadProgress progress;
+
+    public EmployeeBulkLoader(DataSource dataSource,
+            @Value("${app.loader.threads:4}") int threads,
+            @Value("${app.loader.batch-size:1000}") int batchSize,
+            @Value("${app.loader.partitions-per-thread:4}") int partitionsPerThread,
+            @Value("${app.loader.report-seconds:5}") int reportSeconds) {
+        // 0 threads or batches of 0 rows would never load anything
+        if (threads <= 0 || batchSize <= 0 || partitionsPerThread <= 0 || reportSeconds <= 0) {
+            throw new IllegalArgumentException("app.loader threads, batch-size, partitions-per-thread and report-seconds must be > 0"
+                    + " but are " + threads + ", " + batchSize + ", " + partitionsPerThread + ", " + reportSeconds);
+        }
+        this.dataSource = dataSource;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.partitionsPerThread = partitionsPerThread;
+        this.reportSeconds = reportSeconds;
+    }
+
+    /**
+     * Progress of the running (or last) load, or null if nothing was loaded yet.
+     */
+    public LoadProgress getProgress() {
+        return progress;
+    }
+
+    public LoadProgress load(Path csv, boolean skipHeader) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = skipHeader ? nextLineStart(channel, 0, size) : 0;
+            List<long[]> partitions = split(channel, start, size);
+            LoadProgress current = new LoadProgress(partitions.size());
+            this.progress = current;
+            System.out.println("Loading " + csv + " (" + size + " bytes) in " + partitions.size()
+                    + " partitions on " + threads + " workers");
+
+            ExecutorService workers = Executors.newFixedThreadPool(threads);
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            reporter.scheduleAtFixedRate(() -> System.out.println("employee load: " + current),
+                    reportSeconds, reportSeconds, TimeUnit.SECONDS);
+            Semaphore slots = new Semaphore(threads * 2);
+            AtomicBoolean failed = new AtomicBoolean();
+            try {
+                List<Future<?>> results = new ArrayList<>();
+                for (long[] partition : partitions) {
+                    slots.acquire();
+                    if (failed.get()) {
+                        // the failure is thrown below, the remaining partitions are not started
+                        break;
+                    }
+                    ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, partition[0], partition[1] - partition[0]);
+                    results.add(workers.submit(() -> {
+                        try {
+                            loadPartition(buffer, current);
+                        } catch (Exception | Error e) {
+                            failed.set(true);
+                            throw e;
+                        } finally {
+                            slots.release();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Employee load failed after " + current.getRowsLoaded() + " rows", e.getCause());
+            } finally {
+                workers.shutdownNow();
+                reporter.shutdownNow();
+            }
+            System.out.println("Employee load finished: " + current);
+            return current;
+        }
+    }
+
+    List<long[]> split(FileChannel channel, long start, long size) throws IOException {
+        long bytes = size - start;
+        int count = (int) Math.max((long) threads * partitionsPerThread, (bytes + MAX_PARTITION_BYTES - 1) / MAX_PARTITION_BYTES);
+        List<long[]> partitions = new ArrayList<>();
+        long from = start;
+        for (int i = 1; i <= count && from < size; i++) {
+            // a file with fewer bytes than partitions would otherwise search from before the data
+            long to = i == count ? size : nextLineStart(channel, Math.max(from, start + bytes * i / count - 1), size);
+            if (to > from) {
+                partitions.add(new long[] { from, to });
+                from = to;
+            }
+        }
+        return partitions;
+    }
+
+    // position right after the next '\n' at or after pos
+    private long nextLineStart(FileChannel channel, long pos, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (pos < size) {
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private void loadPartition(ByteBuffer buffer, LoadProgress current) throws SQLException {
+        current.workerStarted();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            connection.setAutoCommit(false);
+            byte[] line = new byte[256];
+            int length = 0;
+            int pending = 0;
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n' || !buffer.hasRemaining()) {
+                    if (b != '\n' && b != '\r') {
+                        line = append(line, length++, b);
+                    }
+                    if (length > 0) {
+                        bind(statement, new String(line, 0, length, StandardCharsets.UTF_8));
+                        statement.addBatch();
+                        length = 0;
+                        if (++pending == batchSize) {
+                            flush(connection, statement, pending, current);
+                            pending = 0;
+                        }
+                    }
+                } else if (b != '\r') {
+                    line = append(line, length++, b);
+                }
+            }
+            if (pending > 0) {
+                flush(connection, statement, pending, current);
+            }
+        } finally {
+            current.workerFinished();
+        }
+    }
+
+    private byte[] append(byte[] line, int index, byte b) {
+        if (index == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[index] = b;
+        return line;
+    }
+
+    private void flush(Connection connection, PreparedStatement statement, int rows, LoadProgress current) throws SQLException {
+        long start = System.nanoTime();
+        statement.executeBatch();
+        connection.commit();
+        current.batchFlushed(rows, System.nanoTime() - start);
+    }
+
+    private void bind(PreparedStatement statement, String line) throws SQLException {
+        String[] values = parse(line);
+        if (values.length != COLUMNS) {
+            throw new IllegalArgumentException("Expected " + COLUMNS + " columns but got " + values.length + ": " + line);
+        }
+        statement.setInt(1, Integer.parseInt(values[0]));
+        statement.setString(2, values[1]);
+        statement.setString(3, values[2]);
+        statement.setString(4, values[3]);
+        if (values[4].isEmpty()) {
+            statement.setNull(5, Types.BIGINT);
+        } else {
+            statement.setLong(5, Long.parseLong(values[4]));
+        }
+        statement.setString(6, values[5].isEmpty() ? null : values[5]);
+        if (values[6].isEmpty()) {
+            statement.setNull(7, Types.BOOLEAN);
+        } else {
+            statement.setBoolean(7, Boolean.parseBoolean(values[6]));
+        }
+        if (values[7].isEmpty()) {
+            statement.setNull(8, Types.FLOAT);
+        } else {
+            statement.setFloat(8, Float.parseFloat(values[7]));
+        }
+        if (values[8].isEmpty()) {
+            statement.setNull(9, Types.DOUBLE);
+        } else {
+            statement.setDouble(9, Double.parseDouble(values[8]));
+        }
+        statement.setDate(10, values[9].isEmpty() ? null : Date.valueOf(values[9]));
+        statement.setTimestamp(11, values[10].isEmpty() ? null : Timestamp.valueOf(values[10]));
+    }
+
+    // splits one csv line, a field in double quotes may contain commas and "" for a quote.
+    // a quote anywhere else, or a quoted field left open (a line break inside it), is rejected
+    static String[] parse(String line) {
+        if (line.indexOf('"') < 0) {
+            return line.split(",", -1);
+        }
+        List<String> values = new ArrayList<>(COLUMNS);
+        StringBuilder value = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i == line.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted field: " + line);
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field at " + i + ": " + line);
+                }
+            } else {
+                int end = line.indexOf(',', i);
+                end = end < 0 ? line.length() : end;
+                int quote = line.indexOf('"', i);
+                if (quote >= 0 && quote < end) {
+                    throw new IllegalArgumentException("Quote inside an unquoted field at " + quote + ": " + line);
+                }
+                value.append(line, i, end);
+                i = end;
+            }
+            values.add(value.toString());
+            value.setLength(0);
+            if (i == line.length()) {
+                return values.toArray(String[]::new);
+            }
+            // skip the comma
+            i++;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.training.springboot.loader;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// seeds the employee table when started with --app.loader.file=/path/to/employees.csv
+@Component
+@Order(2)
+@ConditionalOnProperty("app.loader.file")
+class EmployeeLoadRunner implements CommandLineRunner {
+
+    private final EmployeeBulkLoader loader;
+    private final Path file;
+    private final boolean skipHeader;
+
+    public EmployeeLoadRunner(EmployeeBulkLoader loader, @Value("${app.loader.file}") Path file,
+            @Value("${app.loader.skip-header:true}") boolean skipHeader) {
+        this.loader = loader;
+        this.file = file;
+        this.skipHeader = skipHeader;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        loader.load(file, skipHeader);
+    }
+}
@@ -0,0 +1,78 @@
+package com.training.springboot.loader;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters shared by the loader workers. Everything is updated lock free,
+ * so the progress reporter can read it while the load is running.
+ */
+public class LoadProgress {
+
+    private final long startNanos = System.nanoTime();
+    private final int totalPartitions;
+    private final AtomicInteger completedPartitions = new AtomicInteger();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final LongAdder rowsLoaded = new LongAdder();
+    private final LongAdder batchesFlushed = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+
+    public LoadProgress(int totalPartitions) {
+        this.totalPartitions = totalPartitions;
+    }
+
+    void workerStarted() {
+        activeWorkers.incrementAndGet();
+    }
+
+    void workerFinished() {
+        activeWorkers.decrementAndGet();
+        completedPartitions.incrementAndGet();
+    }
+
+    void batchFlushed(int rows, long nanos) {
+        rowsLoaded.add(rows);
+        batchesFlushed.increment();
+        flushNanos.add(nanos);
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded.sum();
+    }
+
+    public int getTotalPartitions() {
+        return totalPartitions;
+    }
+
+    public int getCompletedPartitions() {
+        return completedPartitions.get();
+    }
+
+    public int getActiveWorkers() {
+        return activeWorkers.get();
+    }
+
+    // partitions not started yet, at most two per worker are mapped and queued on the pool at a time
+    public int getQueuedPartitions() {
+        return totalPartitions - completedPartitions.get() - activeWorkers.get();
+    }
+
+    public long getRowsPerSecond() {
+        long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        return getRowsLoaded() * 1000 / millis;
+    }
+
+    // average time a worker spends waiting on the database for one batch
+    public double getAverageFlushMillis() {
+        long batches = batchesFlushed.sum();
+        return batches == 0 ? 0 : flushNanos.sum() / 1_000_000.0 / batches;
+    }
+
+    @Override
+    public String toString() {
+        return "rows=" + getRowsLoaded() + ", rows/sec=" + getRowsPerSecond() + ", partitions="
+                + getCompletedPartitions() + "/" + totalPartitions + ", activeWorkers=" + getActiveWorkers()
+                + ", queuedPartitions=" + getQueuedPartitions() + ", avgBatchMs="
+                + String.format("%.2f", getAverageFlushMillis());
+    }
+}
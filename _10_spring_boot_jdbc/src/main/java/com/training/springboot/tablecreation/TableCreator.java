@@ -1,10 +1,16 @@
 package com.training.springboot.tablecreation;
 
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(1)
 class TableCreator implements CommandLineRunner {
 
     private final JdbcTemplate jdbcTemplate;
@@ -15,6 +21,14 @@ class TableCreator implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
+        // a metadata lookup instead of the DDL on a warm restart : no metadata lock, same outcome as IF NOT EXISTS
+        long start = System.nanoTime();
+        boolean exists = tableExists("employee");
+        System.out.println("Employee table lookup took " + millisSince(start) + " ms");
+        if (exists) {
+            System.out.println("Employee table exists, create skipped");
+            return;
+        }
         String sql = "CREATE TABLE IF NOT EXISTS employee (" +
                      "id INT AUTO_INCREMENT PRIMARY KEY," +
                      "name VARCHAR(50) NOT NULL," +
@@ -28,6 +42,22 @@ class TableCreator implements CommandLineRunner {
                      "dob DATE," +
                      "joinedAt DATETIME" +
                      ")";
+        start = System.nanoTime();
         jdbcTemplate.execute(sql);
-        System.out.println("Employee table created successfully!");
-    }}
+        System.out.println("Employee table created successfully in " + millisSince(start) + " ms!");
+    }
+
+    private boolean tableExists(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), name, new String[] { "TABLE" })) {
+                return tables.next();
+            }
+        });
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,99 @@
+package com.training.springboot.loader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeBulkLoaderTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void parsesPlainAndQuotedFields() {
+		assertArrayEquals(new String[] { "1", "a", "", "" }, EmployeeBulkLoader.parse("1,a,,"));
+		assertArrayEquals(new String[] { "1", "a, b", "say \"hi\"", "" },
+				EmployeeBulkLoader.parse("1,\"a, b\",\"say \"\"hi\"\"\",\"\""));
+	}
+
+	@Test
+	void rejectsMisplacedQuotes() {
+		assertThrows(IllegalArgumentException.class, () -> EmployeeBulkLoader.parse("1,\"open"));
+		assertThrows(IllegalArgumentException.class, () -> EmployeeBulkLoader.parse("1,\"a\"b,c"));
+		assertThrows(IllegalArgumentException.class, () -> EmployeeBulkLoader.parse("1,a\"b,c"));
+	}
+
+	@Test
+	void rejectsNonPositiveSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new EmployeeBulkLoader(null, 0, 1000, 4, 5));
+		assertThrows(IllegalArgumentException.class, () -> new EmployeeBulkLoader(null, 4, 0, 4, 5));
+		assertThrows(IllegalArgumentException.class, () -> new EmployeeBulkLoader(null, 4, -1, 4, 5));
+	}
+
+	@Test
+	void partitionsCoverTheFileOnLineBoundaries() throws IOException {
+		StringBuilder csv = new StringBuilder("id,name\n");
+		for (int id = 1; id <= 1000; id++) {
+			csv.append(id).append(",employee").append("x".repeat(id % 37)).append('\n');
+		}
+		Path file = write(csv.toString());
+		long header = "id,name\n".length();
+
+		List<long[]> partitions = split(new EmployeeBulkLoader(null, 3, 1000, 4, 5), file, header);
+
+		assertEquals(12, partitions.size());
+		assertEquals(header, partitions.get(0)[0]);
+		assertEquals(Files.size(file), partitions.get(partitions.size() - 1)[1]);
+		for (int i = 1; i < partitions.size(); i++) {
+			assertEquals(partitions.get(i - 1)[1], partitions.get(i)[0]);
+		}
+		byte[] bytes = Files.readAllBytes(file);
+		for (long[] partition : partitions) {
+			assertTrue(partition[1] > partition[0]);
+			assertEquals('\n', bytes[(int) partition[1] - 1]);
+		}
+	}
+
+	@Test
+	void smallFileAndLastLineWithoutBreak() throws IOException {
+		Path file = write("1,a\n2,b");
+
+		List<long[]> partitions = split(new EmployeeBulkLoader(null, 4, 1000, 4, 5), file, 0);
+
+		assertEquals(2, partitions.size());
+		assertArrayEquals(new long[] { 0, 4 }, partitions.get(0));
+		assertArrayEquals(new long[] { 4, 7 }, partitions.get(1));
+	}
+
+	@Test
+	void headerOnlyGivesNoPartitions() throws IOException {
+		Path file = write("id,name\n");
+
+		assertEquals(0, split(new EmployeeBulkLoader(null, 4, 1000, 4, 5), file, Files.size(file)).size());
+	}
+
+	private Path write(String content) throws IOException {
+		Path file = dir.resolve("employees.csv");
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static List<long[]> split(EmployeeBulkLoader loader, Path file, long start) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return loader.split(channel, start, channel.size());
+		}
+	}
+
+}
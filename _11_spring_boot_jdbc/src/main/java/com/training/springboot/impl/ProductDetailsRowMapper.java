@@ -0,0 +1,33 @@
+package com.training.springboot.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.RowMapper;
+
+// maps product rows by column position instead of BeanPropertyRowMapper,
+// which introspects ProductDetails and calls setters through reflection for every row.
+// column positions are looked up once on the first row, so use one instance per query.
+public class ProductDetailsRowMapper implements RowMapper<ProductDetails> {
+
+	private int pidIndex;
+	private int pnameIndex;
+	private int priceIndex;
+	private boolean resolved;
+
+	@Override
+	public ProductDetails mapRow(ResultSet rs, int rowNum) throws SQLException {
+		if (!resolved) {
+			pidIndex = rs.findColumn("pid");
+			pnameIndex = rs.findColumn("pname");
+			priceIndex = rs.findColumn("price");
+			resolved = true;
+		}
+		ProductDetails product = new ProductDetails();
+		product.setPid(rs.getInt(pidIndex));
+		product.setPname(rs.getString(pnameIndex));
+		product.setPrice(rs.getDouble(priceIndex));
+		return product;
+	}
+
+}
@@ -1,32 +1,112 @@
 package com.training.springboot.impl;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+
 @Component
 public class ProductManagement {
     @Autowired
 	JdbcTemplate jdbcTemplate;
+    // how many rows the driver pulls from the cursor per round trip
+    @Value("${app.product.fetch-size:1000}")
+    int fetchSize;
+    // how many inserts are sent to the database in one batch
+    @Value("${app.product.batch-size:500}")
+    int batchSize;
+    // 0 would put every product into one unbounded chunk
+    @PostConstruct
+    void checkBatchSize() {
+    	if (batchSize <= 0) {
+    		throw new IllegalStateException("app.product.batch-size must be positive, got " + batchSize);
+    	}
+    }
     public void saveProducts() {
     	String query="Insert into product values(?,?,?)";
     	jdbcTemplate.update(query,1111,"Smasung",100000);
     }
+    // bulk insert : one round trip per chunk instead of one per product
+    public int saveProducts(Iterable<ProductDetails> products) {
+    	List<ProductDetails> chunk = new ArrayList<>(batchSize);
+    	int total = 0;
+    	long start = System.nanoTime();
+    	for (ProductDetails product : products) {
+    		chunk.add(product);
+    		if (chunk.size() == batchSize) {
+    			total += saveChunk(chunk);
+    			chunk.clear();
+    		}
+    	}
+    	if (!chunk.isEmpty()) {
+    		total += saveChunk(chunk);
+    	}
+    	long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+    	System.out.println("saved " + total + " products in " + millis + " ms (" + (total * 1000L / millis) + " rows/sec)");
+    	return total;
+    }
+    private int saveChunk(List<ProductDetails> chunk) {
+    	String query="Insert into product values(?,?,?)";
+    	long start = System.nanoTime();
+    	jdbcTemplate.batchUpdate(query, new BatchPreparedStatementSetter() {
+    		@Override
+    		public void setValues(PreparedStatement ps, int i) throws SQLException {
+    			ProductDetails product = chunk.get(i);
+    			ps.setInt(1, product.getPid());
+    			ps.setString(2, product.getPname());
+    			ps.setDouble(3, product.getPrice());
+    		}
+    		@Override
+    		public int getBatchSize() {
+    			return chunk.size();
+    		}
+    	});
+    	long micros = Math.max(1, (System.nanoTime() - start) / 1_000);
+    	System.out.println("chunk of " + chunk.size() + " products took " + micros / 1000.0 + " ms (" + (chunk.size() * 1_000_000L / micros) + " rows/sec)");
+    	return chunk.size();
+    }
     //select query
     // load products information : Product
     // query : Select * from product
-    
+
     public void loadAllProducts() {
-    	String query="select * from product";
-    	List<ProductDetails> list = jdbcTemplate.query(query, new BeanPropertyRowMapper<ProductDetails>(ProductDetails.class));
-    	list.forEach(product->{
+    	forEachProduct(product->{
     		System.out.println(product.getPid());
     		System.out.println(product.getPname());
     		System.out.println(product.getPrice());
     	});
     }
-   
+    // rows are handed over one by one while the cursor moves forward,
+    // so only fetchSize rows are in memory at a time
+    public void forEachProduct(Consumer<ProductDetails> consumer) {
+    	ProductDetailsRowMapper productMapper = new ProductDetailsRowMapper();
+    	int[] rowNum = {0};
+    	jdbcTemplate.query(streamingQuery("select * from product"), rs -> {
+    		consumer.accept(productMapper.mapRow(rs, rowNum[0]++));
+    	});
+    }
+    // caller must close the stream (try-with-resources) to release the connection
+    public Stream<ProductDetails> streamAllProducts() {
+    	return jdbcTemplate.queryForStream(streamingQuery("select * from product"), new ProductDetailsRowMapper());
+    }
+    private PreparedStatementCreator streamingQuery(String query) {
+    	return connection -> {
+    		PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    		statement.setFetchSize(fetchSize);
+    		return statement;
+    	};
+    }
+
 }
@@ -1,7 +1,11 @@
 package com.training.springboot.table;
 
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
@@ -11,6 +15,14 @@ public class TableCreator implements CommandLineRunner {
 	JdbcTemplate jdbcTemplate;
 	@Override
 	public void run(String... args) throws Exception {
+     // on a warm restart only the table lookup runs, no DDL is sent
+     long start = System.nanoTime();
+     boolean exists = tableExists("product");
+     System.out.println("product table lookup took " + (System.nanoTime() - start) / 1_000_000 + " ms");
+     if (exists) {
+    	 System.out.println("table exists, create skipped");
+    	 return;
+     }
      String query="""
      		create table if not exists product(
      		   pid int primary key ,
@@ -19,9 +31,19 @@ public class TableCreator implements CommandLineRunner {
      		)
      		""";
     		 
+    		  start = System.nanoTime();
     		  jdbcTemplate.execute(query);
-    		  System.out.println("table is created");
+    		  System.out.println("table is created in " + (System.nanoTime() - start) / 1_000_000 + " ms");
     		  
 	}
+	private boolean tableExists(String table) {
+		return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+			try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), name, new String[] { "TABLE" })) {
+				return tables.next();
+			}
+		});
+	}
 
 }
@@ -0,0 +1,86 @@
+package com.training.springboot.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// a few batches and fetches worth of products; time and memory on large tables are
+// measured by ProductManagementBenchmark in the JMH module.
+// LAZY_QUERY_EXECUTION makes H2 hand out rows while it reads them, like MySQL with useCursorFetch.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:products;MODE=MySQL;LAZY_QUERY_EXECUTION=TRUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"app.product.batch-size=1000" })
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductManagementTests {
+
+	private static final int ROWS = 25_000;
+
+	@Autowired
+	ProductManagement productManagement;
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	// products are generated while they are inserted, the test does not hold them either
+	@BeforeAll
+	void insertProducts() {
+		jdbcTemplate.execute("truncate table product");
+		assertEquals(ROWS, productManagement.saveProducts(() -> IntStream.rangeClosed(1, ROWS).mapToObj(ProductManagementTests::product).iterator()));
+	}
+
+	@Test
+	void forEachProductReadsEveryProduct() {
+		Products products = new Products();
+		productManagement.forEachProduct(products::seen);
+		products.assertAllSeen();
+	}
+
+	@Test
+	void streamAllProductsReadsEveryProduct() {
+		Products products = new Products();
+		try (Stream<ProductDetails> stream = productManagement.streamAllProducts()) {
+			stream.forEach(products::seen);
+		}
+		products.assertAllSeen();
+	}
+
+	private static ProductDetails product(int id) {
+		ProductDetails product = new ProductDetails();
+		product.setPid(id);
+		product.setPname("product-" + id);
+		product.setPrice(id % 1000 * 10.0);
+		return product;
+	}
+
+	// the select has no order by : every id once, in whatever order, with its own columns
+	private static class Products {
+		private final BitSet ids = new BitSet(ROWS + 1);
+		private int rows;
+
+		void seen(ProductDetails product) {
+			rows++;
+			assertTrue(product.getPid() >= 1 && product.getPid() <= ROWS, "unexpected pid " + product.getPid());
+			assertTrue(!ids.get(product.getPid()), "pid " + product.getPid() + " read twice");
+			ids.set(product.getPid());
+			assertEquals(product(product.getPid()).getPname(), product.getPname());
+			assertEquals(product(product.getPid()).getPrice(), product.getPrice());
+		}
+
+		void assertAllSeen() {
+			assertEquals(ROWS, rows);
+			assertEquals(ROWS, ids.cardinality());
+		}
+	}
+}
@@ -17,6 +17,8 @@ public class Application {
 	    //operations.addUserInformation();
 	    DatabaseOperationTwo databaseOperationTwo = context.getBean("databaseOperationTwo",DatabaseOperationTwo.class);
 	               //databaseOperationTwo.addMoreProducts(); 
+	               //databaseOperationTwo.benchmarkBulkInsert(1_000_000, 100_000);
+	               //databaseOperationTwo.measureProductListing();
 	               databaseOperationTwo.loadAllProducts();
 	}
 }
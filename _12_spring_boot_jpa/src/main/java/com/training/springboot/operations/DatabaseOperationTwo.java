@@ -1,18 +1,26 @@
 package com.training.springboot.operations;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.training.springboot.entity.ProductDetails;
+import com.training.springboot.projection.ProductSummary;
 import com.training.springboot.repositary.ProductDetailsRepositary;
 
 @Component
 public class DatabaseOperationTwo {
     @Autowired
 	ProductDetailsRepositary productDetailsRepositary;
+    @Autowired
+    PlatformTransactionManager transactionManager;
 	// inserting more than one record ; Inserting more than one recored;
 	public void addMoreProducts() {
 		List<ProductDetails> allproducts=new ArrayList<>();
@@ -23,15 +31,78 @@ public class DatabaseOperationTwo {
 		productDetailsRepositary.saveAll(allproducts);
 	}
 	
+	// rows known to be new : plain inserts sent as jdbc batches, no select per row.
+	// fails with a duplicate key when a product id already exists, use saveAll for that
+	public int addNewProducts(List<ProductDetails> products) {
+		return productDetailsRepositary.insertAll(products);
+	}
+	
+	// compares saveAll (select + insert per row) with insertAll (batched inserts)
+	// on two id ranges starting at firstId, both are deleted again afterwards.
+	// run it with spring.jpa.show-sql=false, printing every statement dominates the timing
+	public void benchmarkBulkInsert(int firstId, int count) {
+		long saveAllMillis = timeInsert(firstId, count, productDetailsRepositary::saveAll);
+		long insertAllMillis = timeInsert(firstId + count, count, productDetailsRepositary::insertAll);
+		productDetailsRepositary.deleteByProductIdRange(firstId, firstId + 2 * count);
+		System.out.println("saveAll   : " + count + " products in " + saveAllMillis + " ms (" + (count * 1000L / saveAllMillis) + " rows/sec)");
+		System.out.println("insertAll : " + count + " products in " + insertAllMillis + " ms (" + (count * 1000L / insertAllMillis) + " rows/sec)");
+	}
+	
+	private long timeInsert(int firstId, int count, Consumer<List<ProductDetails>> insert) {
+		List<ProductDetails> products = new ArrayList<>(count);
+		for (int id = firstId; id < firstId + count; id++) {
+			products.add(new ProductDetails(id, "product-" + id, id % 1000 * 10.0));
+		}
+		long start = System.nanoTime();
+		insert.accept(products);
+		return Math.max(1, (System.nanoTime() - start) / 1_000_000);
+	}
+	
 	// select/read Operations
 	
 	public void loadAllProducts() {
-		List<ProductDetails> list = productDetailsRepositary.findAll();
+		// records instead of entities : no persistence context, no dirty checking snapshots
+		List<ProductSummary> list = productDetailsRepositary.findAllProjectedBy();
 		//list.stream().forEach(System.out::println);
 		//send to front end
 		
 	}
 	
+	// every product handed over while the cursor moves, the list is never built
+	public void forEachProduct(Consumer<ProductSummary> consumer) {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readOnly.executeWithoutResult(status -> {
+			try (Stream<ProductSummary> products = productDetailsRepositary.streamAllProjectedBy()) {
+				products.forEach(consumer);
+			}
+		});
+	}
+	
+	// heap allocated per product by each way of listing them, measured on the calling thread
+	public void measureProductListing() {
+		long rows = productDetailsRepositary.count();
+		if (rows == 0) {
+			System.out.println("no products to list");
+			return;
+		}
+		long entities = allocatedBytes(() -> productDetailsRepositary.findAll());
+		long projected = allocatedBytes(() -> productDetailsRepositary.findAllProjectedBy());
+		long streamed = allocatedBytes(() -> forEachProduct(product -> {}));
+		System.out.println("findAll             : " + entities / rows + " bytes/row");
+		System.out.println("findAllProjectedBy  : " + projected / rows + " bytes/row");
+		System.out.println("streamAllProjectedBy: " + streamed / rows + " bytes/row");
+	}
+	
+	private long allocatedBytes(Runnable listing) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		// first call warms up query plans and class loading
+		listing.run();
+		long before = threads.getCurrentThreadAllocatedBytes();
+		listing.run();
+		return threads.getCurrentThreadAllocatedBytes() - before;
+	}
+	
 	//get Count of records:count()
 	 
 	// delete Operations
@@ -1,10 +1,17 @@
 package com.training.springboot.operations;
 
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.training.springboot.entity.ProductDetails;
 import com.training.springboot.entity.UserInformations;
+import com.training.springboot.projection.UserSummary;
 import com.training.springboot.repositary.ProductDetailsRepositary;
 import com.training.springboot.repositary.UserDetailsRepo;
 
@@ -14,6 +21,8 @@ public class DatabaseOperations {
 	ProductDetailsRepositary productDetailsRepositary;
     @Autowired
     UserDetailsRepo userDetailsRepo;
+    @Autowired
+    PlatformTransactionManager transactionManager;
     public void addProductInformation() {
     	ProductDetails p1=new ProductDetails();
     	p1.setProductId(111);
@@ -29,4 +38,19 @@ public class DatabaseOperations {
     	user.setContact("+91 6206481133");
     	userDetailsRepo.save(user);
     }
+    
+    public List<UserSummary> loadAllUsers() {
+    	return userDetailsRepo.findAllProjectedBy();
+    }
+    
+    // streams users through a cursor inside a read only transaction
+    public void forEachUser(Consumer<UserSummary> consumer) {
+    	TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    	readOnly.setReadOnly(true);
+    	readOnly.executeWithoutResult(status -> {
+    		try (Stream<UserSummary> users = userDetailsRepo.streamAllProjectedBy()) {
+    			users.forEach(consumer);
+    		}
+    	});
+    }
 }
@@ -0,0 +1,6 @@
+package com.training.springboot.projection;
+
+// read only view of a product : plain values, never managed by the persistence context
+public record ProductSummary(int productId, String productName, double productPrice) {
+
+}
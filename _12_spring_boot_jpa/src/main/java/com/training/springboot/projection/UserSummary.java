@@ -0,0 +1,6 @@
+package com.training.springboot.projection;
+
+// read only view of a user : plain values, never managed by the persistence context
+public record UserSummary(long userId, String name, String contact) {
+
+}
@@ -0,0 +1,18 @@
+package com.training.springboot.repositary;
+
+/**
+ * Bulk insert for entities with assigned ids.
+ *
+ * saveAll() cannot tell a new entity with an assigned id from an existing one,
+ * so it merges every row and runs a SELECT before each INSERT. insertAll() only
+ * persists: the rows must not exist yet (a duplicate id fails the transaction).
+ *
+ * The insert runs and commits in a new transaction with its own persistence context,
+ * which it clears after every batch. Entities the caller has loaded stay managed, but
+ * the rows are committed even if the caller's transaction later rolls back.
+ */
+public interface BulkInsertRepository<T> {
+
+	int insertAll(Iterable<T> entities);
+
+}
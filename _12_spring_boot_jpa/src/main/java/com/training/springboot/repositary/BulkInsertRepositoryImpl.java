@@ -0,0 +1,47 @@
+package com.training.springboot.repositary;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// picked up by spring data as the implementation of BulkInsertRepository for every repository extending it
+public class BulkInsertRepositoryImpl<T> implements BulkInsertRepository<T> {
+
+	@PersistenceContext
+	EntityManager entityManager;
+	// same as hibernate.jdbc.batch_size, so every flush sends whole batches
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	int chunkSize;
+
+	// a transaction of its own, so the clear() below only drops the entities persisted here
+	@Override
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public int insertAll(Iterable<T> entities) {
+		Session session = entityManager.unwrap(Session.class);
+		CacheMode cacheMode = session.getCacheMode();
+		// freshly inserted rows would only push hot entries out of the second level cache
+		session.setCacheMode(CacheMode.IGNORE);
+		try {
+			int count = 0;
+			for (T entity : entities) {
+				entityManager.persist(entity);
+				if (++count % chunkSize == 0) {
+					// send the batch and drop the managed copies, memory stays flat
+					entityManager.flush();
+					entityManager.clear();
+				}
+			}
+			entityManager.flush();
+			entityManager.clear();
+			return count;
+		} finally {
+			session.setCacheMode(cacheMode);
+		}
+	}
+
+}
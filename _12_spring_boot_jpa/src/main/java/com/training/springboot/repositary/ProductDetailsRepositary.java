@@ -1,10 +1,34 @@
 package com.training.springboot.repositary;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.training.springboot.entity.ProductDetails;
+import com.training.springboot.projection.ProductSummary;
+
+import jakarta.persistence.QueryHint;
+
+
+public interface ProductDetailsRepositary extends JpaRepository<ProductDetails, Integer>, BulkInsertRepository<ProductDetails>{
+
+	// listing without entities : only the columns of the record are selected
+	List<ProductSummary> findAllProjectedBy();
 
+	// same rows pulled through a cursor, call inside a read only transaction and close the stream
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	Stream<ProductSummary> streamAllProjectedBy();
 
-public interface ProductDetailsRepositary extends JpaRepository<ProductDetails, Integer>{
+	// one statement for a whole id range, used to clean up after a benchmark
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("delete from ProductDetails p where p.productId >= :fromId and p.productId < :toId")
+	int deleteByProductIdRange(int fromId, int toId);
 
 }
@@ -1,9 +1,24 @@
 package com.training.springboot.repositary;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
 import com.training.springboot.entity.UserInformations;
+import com.training.springboot.projection.UserSummary;
+
+import jakarta.persistence.QueryHint;
+
+public interface UserDetailsRepo extends CrudRepository<UserInformations, Long>, BulkInsertRepository<UserInformations>{
+
+	// listing without entities : only the columns of the record are selected
+	List<UserSummary> findAllProjectedBy();
 
-public interface UserDetailsRepo extends CrudRepository<UserInformations, Long>{
+	// same rows pulled through a cursor, call inside a read only transaction and close the stream
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	Stream<UserSummary> streamAllProjectedBy();
 
 }
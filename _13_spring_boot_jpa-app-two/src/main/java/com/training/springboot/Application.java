@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import com.training.springboot.cache.SecondLevelCacheMetrics;
 import com.training.springboot.operation.EmployeeOperationsTwo;
 
 @SpringBootApplication
@@ -24,6 +25,8 @@ public class Application {
 		EmployeeOperationsTwo empOpsTwo=context.getBean(EmployeeOperationsTwo.class);
 		//empOpsTwo.deleteEmpById(1);
 		empOpsTwo.updateEmployeeSalaryByEmpId2(8);
+		//empOpsTwo.updateSalary(8, 20000);
+		context.getBean(SecondLevelCacheMetrics.class).report();
 		
 	}
 	
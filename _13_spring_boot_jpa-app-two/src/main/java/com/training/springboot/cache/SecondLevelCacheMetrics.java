@@ -0,0 +1,46 @@
+package com.training.springboot.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Prints hit / miss / eviction numbers of the employees region, from its JCache
+ * statistics MBean (monitoring.statistics in application.conf).
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+	private static final String REGION = "employees";
+
+	public void report() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			report(server, REGION);
+		} catch (Exception e) {
+			System.out.println("cache statistics are not available : " + e.getMessage());
+		}
+	}
+
+	// the region only has an MBean once hibernate has created it
+	private static void report(MBeanServer server, String region) throws Exception {
+		Set<ObjectName> names = server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,CacheManager=*,Cache=" + region), null);
+		if (names.isEmpty()) {
+			System.out.println("cache " + region + " : no statistics");
+		}
+		for (ObjectName name : names) {
+			System.out.println("cache " + region
+					+ " : hits=" + server.getAttribute(name, "CacheHits")
+					+ ", misses=" + server.getAttribute(name, "CacheMisses")
+					+ ", hit%=" + String.format("%.1f", (Float) server.getAttribute(name, "CacheHitPercentage"))
+					+ ", puts=" + server.getAttribute(name, "CachePuts")
+					+ ", evictions=" + server.getAttribute(name, "CacheEvictions")
+					+ ", avgGet=" + String.format("%.1f", (Float) server.getAttribute(name, "AverageGetTime")) + " us");
+		}
+	}
+
+}
@@ -0,0 +1,215 @@
+package com.training.springboot.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Bitmap postings on city, gender and country, holding employee ids only.
+ *
+ * Every employee gets a slot number; for each attribute value a BitSet marks the slots
+ * of the employees having it. AND / OR lookups are a BitSet and / or that gives the
+ * matching ids, the rows themselves are then loaded by id. Values are compared ignoring
+ * case, like the default MySQL collation the repository finders run against.
+ *
+ * Loaded at startup by EmployeeIndexLoader and kept in sync by EmployeeIndexListener.
+ */
+@Component
+public class EmployeeAttributeIndex {
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, Integer> slotsById = new HashMap<>();
+	private long[] ids = new long[0];
+	private int slotCount;
+	private final Deque<Integer> freeSlots = new ArrayDeque<>();
+	private final Attribute cities = new Attribute();
+	private final Attribute genders = new Attribute();
+	private final Attribute countries = new Attribute();
+
+	// pageAfter gives the employees following an empId, in empId order, empty at the end.
+	// only one page is in memory at a time; saves committed meanwhile wait for the write
+	// lock and are applied afterwards.
+	public void rebuild(LongFunction<List<EmployeeAttributes>> pageAfter) {
+		lock.writeLock().lock();
+		try {
+			slotsById.clear();
+			ids = new long[0];
+			slotCount = 0;
+			freeSlots.clear();
+			cities.clear();
+			genders.clear();
+			countries.clear();
+			List<EmployeeAttributes> page = pageAfter.apply(Long.MIN_VALUE);
+			while (!page.isEmpty()) {
+				page.forEach(this::putLocked);
+				page = pageAfter.apply(page.get(page.size() - 1).empId());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void put(EmployeeAttributes employee) {
+		lock.writeLock().lock();
+		try {
+			putLocked(employee);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(long empId) {
+		lock.writeLock().lock();
+		try {
+			Integer slot = slotsById.remove(empId);
+			if (slot != null) {
+				cities.unlink(slot);
+				genders.unlink(slot);
+				countries.unlink(slot);
+				freeSlots.push(slot);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return slotsById.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Long> findIdsByCity(String city) {
+		lock.readLock().lock();
+		try {
+			return collect(cities.postings(city));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Long> findIdsByGender(String gender) {
+		lock.readLock().lock();
+		try {
+			return collect(genders.postings(gender));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Long> findIdsByCountry(String country) {
+		lock.readLock().lock();
+		try {
+			return collect(countries.postings(country));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Long> findIdsByGenderAndCountry(String gender, String country) {
+		lock.readLock().lock();
+		try {
+			BitSet result = (BitSet) genders.postings(gender).clone();
+			result.and(countries.postings(country));
+			return collect(result);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Long> findIdsByGenderOrCity(String gender, String city) {
+		lock.readLock().lock();
+		try {
+			BitSet result = (BitSet) genders.postings(gender).clone();
+			result.or(cities.postings(city));
+			return collect(result);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void putLocked(EmployeeAttributes employee) {
+		Integer slot = slotsById.get(employee.empId());
+		if (slot == null) {
+			slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+			if (slot == ids.length) {
+				ids = Arrays.copyOf(ids, Math.max(16, ids.length * 2));
+			}
+			ids[slot] = employee.empId();
+			slotsById.put(employee.empId(), slot);
+		}
+		cities.link(slot, employee.city());
+		genders.link(slot, employee.gender());
+		countries.link(slot, employee.country());
+	}
+
+	private List<Long> collect(BitSet slots) {
+		List<Long> result = new ArrayList<>(slots.cardinality());
+		for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+			result.add(ids[slot]);
+		}
+		return result;
+	}
+
+	// one attribute : each distinct value gets a code, a slot remembers the code of its value
+	// so a later update or remove can clear the right bit without the old row
+	private static final class Attribute {
+
+		private final Map<String, Integer> codes = new HashMap<>();
+		private final List<BitSet> postings = new ArrayList<>();
+		private int[] codeBySlot = new int[0];
+
+		void link(int slot, String value) {
+			unlink(slot);
+			if (value != null) {
+				int code = codes.computeIfAbsent(key(value), key -> {
+					postings.add(new BitSet());
+					return postings.size() - 1;
+				});
+				postings.get(code).set(slot);
+				codeBySlot[slot] = code + 1;
+			}
+		}
+
+		void unlink(int slot) {
+			if (slot >= codeBySlot.length) {
+				codeBySlot = Arrays.copyOf(codeBySlot, Math.max(16, Math.max(slot + 1, codeBySlot.length * 2)));
+			}
+			// 0 : the slot has no value
+			if (codeBySlot[slot] > 0) {
+				postings.get(codeBySlot[slot] - 1).clear(slot);
+				codeBySlot[slot] = 0;
+			}
+		}
+
+		BitSet postings(String value) {
+			Integer code = value == null ? null : codes.get(key(value));
+			return code != null ? postings.get(code) : new BitSet();
+		}
+
+		void clear() {
+			codes.clear();
+			postings.clear();
+			codeBySlot = new int[0];
+		}
+
+		private static String key(String value) {
+			return value.toLowerCase(Locale.ROOT);
+		}
+	}
+
+}
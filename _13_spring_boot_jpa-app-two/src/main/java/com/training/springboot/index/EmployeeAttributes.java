@@ -0,0 +1,5 @@
+package com.training.springboot.index;
+
+// the columns the attribute index is built on, read without loading the whole entity
+public record EmployeeAttributes(long empId, String city, String gender, String country) {
+}
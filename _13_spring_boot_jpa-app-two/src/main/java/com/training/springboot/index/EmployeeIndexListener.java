@@ -0,0 +1,49 @@
+package com.training.springboot.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.training.springboot.modal.Employee;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA callbacks for every save / saveAll / delete of an Employee.
+// the index is only changed once the transaction commits, so a rollback leaves it untouched.
+// bulk JPQL updates and deletes bypass these callbacks.
+public class EmployeeIndexListener {
+
+	@Autowired
+	private EmployeeAttributeIndex employeeAttributeIndex;
+
+	@PostPersist
+	@PostUpdate
+	public void employeeSaved(Employee employee) {
+		EmployeeAttributes saved = new EmployeeAttributes(employee.getEmpId(), employee.getCity(),
+				employee.getGender(), employee.getCountry());
+		afterCommit(() -> employeeAttributeIndex.put(saved));
+	}
+
+	@PostRemove
+	public void employeeRemoved(Employee employee) {
+		long empId = employee.getEmpId();
+		afterCommit(() -> employeeAttributeIndex.remove(empId));
+	}
+
+	// runs the change once the current transaction commits, right away when there is none
+	public static void afterCommit(Runnable change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					change.run();
+				}
+			});
+		} else {
+			change.run();
+		}
+	}
+
+}
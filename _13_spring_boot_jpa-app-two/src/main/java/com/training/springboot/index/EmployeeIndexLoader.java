@@ -0,0 +1,29 @@
+package com.training.springboot.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.training.springboot.repositary.EmployeeRepositary;
+
+// fills the attribute index once, before any other runner uses it
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+public class EmployeeIndexLoader implements CommandLineRunner {
+
+	@Autowired
+	EmployeeRepositary employeeRepositary;
+	@Autowired
+	EmployeeAttributeIndex employeeAttributeIndex;
+
+	@Override
+	public void run(String... args) throws Exception {
+		// keyset pages of the indexed columns only, the entities are never loaded
+		employeeAttributeIndex.rebuild(after -> employeeRepositary.findAttributesAfter(after, Limit.of(10_000)));
+		System.out.println("Employee attribute index loaded with " + employeeAttributeIndex.size() + " employees");
+	}
+
+}
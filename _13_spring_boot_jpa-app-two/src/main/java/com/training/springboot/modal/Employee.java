@@ -1,17 +1,26 @@
 package com.training.springboot.modal;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.training.springboot.index.EmployeeIndexListener;
+
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+@EntityListeners(EmployeeIndexListener.class)
 @Table(name="employee")
 public class Employee {
 	
@@ -31,4 +40,19 @@ public class Employee {
 	private String gender;
 	@Column(name="country")
 	private String country;
+	// optimistic locking : every update bumps it, a write based on an older version fails
+	// existing rows start at 0 when the column is added
+	@Version
+	@Column(name="version", nullable=false, columnDefinition="int default 0")
+	private int version;
+
+	public Employee(long empId, String name, int age, float salary, String city, String gender, String country) {
+		this.empId = empId;
+		this.name = name;
+		this.age = age;
+		this.salary = salary;
+		this.city = city;
+		this.gender = gender;
+		this.country = country;
+	}
 }
@@ -7,6 +7,7 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.training.springboot.index.EmployeeAttributeIndex;
 import com.training.springboot.modal.Employee;
 import com.training.springboot.repositary.EmployeeRepositary;
 
@@ -15,12 +16,18 @@ public class EmployeeOperations {
 
 	@Autowired
 	EmployeeRepositary employeeRepositary;
+	// city / gender / country lookups are answered from memory
+	@Autowired
+	EmployeeAttributeIndex employeeAttributeIndex;
     
 	public void addMoreEmployees() {
 		List<Employee> employees=new ArrayList<>();
 		employees.add(new Employee(1,"One",28,30000.00f,"haryana","male","india"));
 		employees.add(new Employee(2,"two",29,30000.00f,"bihar","Female","india"));
 		employees.add(new Employee(3,"three",30,30000.00f,"delhi","male","india"));
+		// ids are assigned, so saveAll merges : a row that is already there is overwritten
+		// with the version it has now, else a bumped version fails as a concurrent change
+		employees.forEach(emp -> employeeRepositary.findVersionByEmpId(emp.getEmpId()).ifPresent(emp::setVersion));
 		employeeRepositary.saveAll(employees);		
 	}
 	// get employee data by employee id
@@ -50,19 +57,16 @@ public class EmployeeOperations {
 	// findByCityName(String city)
 	//List<EntityClassName> findByCityName(String city) 
 	public void getEmployeeByCity(String cityName) {
-                List<Employee> city = employeeRepositary.findByCity(cityName);
-                city.forEach(System.out::println);
+                printEmployees(employeeAttributeIndex.findIdsByCity(cityName));
 	}
 	
 	
 	public void getEmployeeByGender(String gender) {
-		List<Employee> city = employeeRepositary.findByGender(gender);
-		city.forEach(System.out::println);
+		printEmployees(employeeAttributeIndex.findIdsByGender(gender));
 	}
 	
 	public void getEmployeeByCountry(String country) {
-		List<Employee> city = employeeRepositary.findByCountry(country);
-		city.forEach(System.out::println);
+		printEmployees(employeeAttributeIndex.findIdsByCountry(country));
 	}
 	
 	// Get female Employee from india
@@ -78,16 +82,26 @@ public class EmployeeOperations {
 	// city
 	//findByGenderAndCountryAndCity(String gender,String country,String city)
 	public void getEmployeesByGenderAndCountry(String country,String gender) {
-		List<Employee> employees = employeeRepositary.findByGenderAndCountry(gender, country);
-		employees.forEach(System.out::println);
+		printEmployees(employeeAttributeIndex.findIdsByGenderAndCountry(gender, country));
 		
 	}
 	// get employees either they belongs to gender and male or city bihar
 	//findByGenderOrCity(String gender,String city)
+	public void getEmployeesByGenderOrCity(String gender,String city) {
+		printEmployees(employeeAttributeIndex.findIdsByGenderOrCity(gender, city));
+	}
 
 	// delete operations
 	// delete data of an employee by emp ID:
 	//emp_id : PK
 	// delete : 0 or 1 record will be deleted
+
+	// the index only gives ids : load the rows a chunk at a time, not one IN list of everything
+	private void printEmployees(List<Long> empIds) {
+		for (int from = 0; from < empIds.size(); from += 1000) {
+			employeeRepositary.findAllById(empIds.subList(from, Math.min(from + 1000, empIds.size())))
+					.forEach(System.out::println);
+		}
+	}
 	
 }
@@ -1,18 +1,39 @@
 package com.training.springboot.operation;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.training.springboot.index.EmployeeIndexListener;
 import com.training.springboot.modal.Employee;
 import com.training.springboot.repositary.EmployeeRepositary;
 
+import jakarta.persistence.EntityManagerFactory;
+
 
 @Component
 public class EmployeeOperationsTwo {
     @Autowired
 	EmployeeRepositary employeeRepositary;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
     public void deleteEmpById(long empId) {
     	employeeRepositary.deleteById(1l);
     }
@@ -25,10 +46,17 @@ public class EmployeeOperationsTwo {
     // save()-> insert/update 
     public void updateEmployeeSalaryByEmpId(long fempId) {
     // req :id is 5 -> 10000salary
+    	// the version has to match the row, else the save fails as a concurrent change
+    	Optional<Integer> version = employeeRepositary.findVersionByEmpId(fempId);
+    	if(version.isEmpty()) {
+    		System.out.println("No emplpoyee Found");
+    		return;
+    	}
     	Employee emp=new Employee();
     	
     	emp.setEmpId(fempId);
     	emp.setSalary(10000);
+    	emp.setVersion(version.get());
     	employeeRepositary.save(emp);
     	// Option 1 : entity object is again filled with all other column
     }
@@ -48,5 +76,64 @@ public class EmployeeOperationsTwo {
     	}
     
     }
+    // option 3 : update only the salary column
+    // update employee set salary=?, version=version+1 where emp_id=?
+    // one round trip, no select and the other columns are left alone
+    public int updateSalary(long empId, float salary) {
+    	int updated = employeeRepositary.updateSalary(empId, salary);
+    	System.out.println(updated + " employee salary updated");
+    	return updated;
+    }
+    // same, but only if nobody changed the employee since it was read with expectedVersion
+    public int updateSalary(long empId, float salary, int expectedVersion) {
+    	int updated = employeeRepositary.updateSalary(empId, salary, expectedVersion);
+    	if (updated == 0) {
+    		throw new ObjectOptimisticLockingFailureException(Employee.class, empId);
+    	}
+    	System.out.println(updated + " employee salary updated");
+    	return updated;
+    }
+    // bulk : all salary updates go as one JDBC batch in one transaction
+    public int updateSalaries(Map<Long, Float> salaries) {
+    	List<Map.Entry<Long, Float>> entries = new ArrayList<>(salaries.entrySet());
+    	long start = System.nanoTime();
+    	Map<Long, Float> updated = transactionTemplate.execute(status -> {
+    		int[] counts = jdbcTemplate.batchUpdate(
+    				"update employee set salary=?, version=version+1 where emp_id=?", new BatchPreparedStatementSetter() {
+    					@Override
+    					public void setValues(PreparedStatement ps, int i) throws SQLException {
+    						ps.setFloat(1, entries.get(i).getValue());
+    						ps.setLong(2, entries.get(i).getKey());
+    					}
+    					@Override
+    					public int getBatchSize() {
+    						return entries.size();
+    					}
+    				});
+    		Map<Long, Float> changed = new HashMap<>();
+    		List<Long> unknown = new ArrayList<>();
+    		for (int i = 0; i < counts.length; i++) {
+    			if (counts[i] > 0) {
+    				changed.put(entries.get(i).getKey(), entries.get(i).getValue());
+    			} else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+    				// the driver ran the row without a count (e.g. rewriteBatchedStatements), check it exists
+    				unknown.add(entries.get(i).getKey());
+    			}
+    			// 0 : no such employee, EXECUTE_FAILED : not updated
+    		}
+    		if (!unknown.isEmpty()) {
+    			String in = String.join(",", Collections.nCopies(unknown.size(), "?"));
+    			jdbcTemplate.queryForList("select emp_id from employee where emp_id in (" + in + ")", Long.class, unknown.toArray())
+    					.forEach(empId -> changed.put(empId, salaries.get(empId)));
+    		}
+    		// plain JDBC is invisible to hibernate : drop the cached copies, once committed
+    		EmployeeIndexListener.afterCommit(() -> changed.keySet().forEach(
+    				empId -> entityManagerFactory.getCache().evict(Employee.class, empId)));
+    		return changed;
+    	});
+    	System.out.println(updated.size() + " of " + entries.size() + " employee salaries updated in "
+    			+ (System.nanoTime() - start) / 1_000_000 + " ms");
+    	return updated.size();
+    }
 
 }
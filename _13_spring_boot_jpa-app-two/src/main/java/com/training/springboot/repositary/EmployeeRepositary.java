@@ -1,9 +1,16 @@
 package com.training.springboot.repositary;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.training.springboot.index.EmployeeAttributes;
 import com.training.springboot.modal.Employee;
 
 
@@ -15,5 +22,22 @@ public interface EmployeeRepositary extends JpaRepository<Employee, Long>{
 	//get employee based on gender and country
 	List<Employee> findByGenderAndCountry(String gender,String country);
 	List<Employee> findByGenderOrCity(String gender,String city);
+	// current version of an employee, empty when there is no such employee
+	@Query("select e.version from Employee e where e.empId = :empId")
+	Optional<Integer> findVersionByEmpId(@Param("empId") long empId);
+	// next page of the indexed columns after empId, for the attribute index scan
+	@Query("select new com.training.springboot.index.EmployeeAttributes(e.empId, e.city, e.gender, e.country) from Employee e where e.empId > :empId order by e.empId")
+	List<EmployeeAttributes> findAttributesAfter(@Param("empId") long empId, Limit limit);
+	// partial update : only salary (and version) is written, no select before
+	// returns the number of updated rows
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Employee e set e.salary = :salary, e.version = e.version + 1 where e.empId = :empId")
+	int updateSalary(@Param("empId") long empId, @Param("salary") float salary);
+	// optimistic : 0 rows when the employee was changed since it was read with expectedVersion
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Employee e set e.salary = :salary, e.version = e.version + 1 where e.empId = :empId and e.version = :expectedVersion")
+	int updateSalary(@Param("empId") long empId, @Param("salary") float salary, @Param("expectedVersion") int expectedVersion);
 	
 }
@@ -4,14 +4,20 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import com.training.springboot.ingest.OrderIngestQueue;
+
 @SpringBootApplication
 public class Application {
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws InterruptedException {
 		ConfigurableApplicationContext context = SpringApplication.run(Application.class, args);
 	    OrderOperations operations = context.getBean(OrderOperations.class);
-	    operations.addOrder();
+	    long seq = operations.addOrder();
+	    // the order is written behind, wait for it before reading the table
+	    context.getBean(OrderIngestQueue.class).awaitPersisted(seq, 5000);
 	    operations.loadAllOrder(); 
+	    //operations.loadOrderTotals();
+	    //System.out.println(operations.findOrder(1));
 	}
 }
 // none
@@ -1,25 +1,44 @@
 package com.training.springboot;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.training.springboot.analytics.OrderRollups;
 import com.training.springboot.entity.OrderInformation;
+import com.training.springboot.hotstore.HotOrderStore;
+import com.training.springboot.ingest.OrderIngestQueue;
 import com.training.springboot.repositary.OrderInformationRepositary;
 
 @Component
 public class OrderOperations {
    @Autowired
 	public OrderInformationRepositary orderRepositary;
+   @Autowired
+   OrderIngestQueue orderIngestQueue;
+   @Autowired
+   OrderRollups orderRollups;
+   @Autowired
+   HotOrderStore hotOrderStore;
 	
-   // add an order
-   public void addOrder() {
+   // add an order : acknowledged once journaled, written to the database in the next batch
+   public long addOrder() {
 	   OrderInformation order=new OrderInformation(1, "raushan786267@gmail.com",3 ,"Raushan Singh" , "6206481133", "Buxar", 802111, 500000);
-	   orderRepositary.save(order);
+	   return orderIngestQueue.submit(order);
    }
    public void loadAllOrder() {
 	  List<OrderInformation> list = orderRepositary.findAll();
 	  list.forEach(System.out::println);
    }
+   // recent orders come from the off-heap hot store, older ones from the database
+   public Optional<OrderInformation> findOrder(long orderId) {
+	  return hotOrderStore.find(orderId);
+   }
+   // dashboard totals, answered from memory
+   public void loadOrderTotals() {
+	  orderRollups.totalsByCity().forEach(System.out::println);
+	  orderRollups.totalsByPincode().forEach(System.out::println);
+   }
 }
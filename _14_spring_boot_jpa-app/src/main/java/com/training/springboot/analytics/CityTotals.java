@@ -0,0 +1,49 @@
+package com.training.springboot.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// totals by city, cities compared ignoring case like the MySQL collation a GROUP BY would use
+final class CityTotals extends GroupTotals {
+
+	private final Map<String, Integer> slots = new HashMap<>();
+	// spelling of the first order seen for each city
+	private String[] cities = new String[16];
+
+	void add(String city, long orders, long items, double revenue) {
+		addToSlot(slot(city), orders, items, revenue);
+	}
+
+	void merge(CityTotals other) {
+		for (int slot = 0; slot < other.size(); slot++) {
+			addSlot(slot(other.cities[slot]), other, slot);
+		}
+	}
+
+	OrderTotals get(String city) {
+		Integer slot = slots.get(key(city));
+		return slot == null ? null : totals(slot, cities[slot]);
+	}
+
+	@Override
+	protected String group(int slot) {
+		return cities[slot];
+	}
+
+	private int slot(String city) {
+		return slots.computeIfAbsent(key(city), key -> {
+			int slot = newSlot();
+			if (slot == cities.length) {
+				cities = Arrays.copyOf(cities, slot * 2);
+			}
+			cities[slot] = city;
+			return slot;
+		});
+	}
+
+	private static String key(String city) {
+		return city == null ? "" : city.toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,58 @@
+package com.training.springboot.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Running totals per group in parallel primitive arrays, indexed by a slot
+ * that the subclass assigns to each group key.
+ */
+abstract class GroupTotals {
+
+	private long[] orders = new long[16];
+	private long[] items = new long[16];
+	private double[] revenue = new double[16];
+	private int size;
+
+	protected int newSlot() {
+		if (size == orders.length) {
+			orders = Arrays.copyOf(orders, size * 2);
+			items = Arrays.copyOf(items, size * 2);
+			revenue = Arrays.copyOf(revenue, size * 2);
+		}
+		return size++;
+	}
+
+	protected void addToSlot(int slot, long orderCount, long itemCount, double amount) {
+		orders[slot] += orderCount;
+		items[slot] += itemCount;
+		revenue[slot] += amount;
+	}
+
+	protected void addSlot(int slot, GroupTotals other, int otherSlot) {
+		addToSlot(slot, other.orders[otherSlot], other.items[otherSlot], other.revenue[otherSlot]);
+	}
+
+	// null when the group has no orders (left)
+	protected OrderTotals totals(int slot, String group) {
+		return slot < 0 || orders[slot] == 0 ? null : new OrderTotals(group, orders[slot], items[slot], revenue[slot]);
+	}
+
+	protected int size() {
+		return size;
+	}
+
+	protected abstract String group(int slot);
+
+	List<OrderTotals> all() {
+		List<OrderTotals> all = new ArrayList<>(size);
+		for (int slot = 0; slot < size; slot++) {
+			OrderTotals totals = totals(slot, group(slot));
+			if (totals != null) {
+				all.add(totals);
+			}
+		}
+		return all;
+	}
+}
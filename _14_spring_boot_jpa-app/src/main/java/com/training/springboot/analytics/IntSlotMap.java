@@ -0,0 +1,69 @@
+package com.training.springboot.analytics;
+
+import java.util.Arrays;
+
+/**
+ * int key to int slot map with open addressing and linear probing.
+ * No boxing on put or get; kept at most half full.
+ */
+final class IntSlotMap {
+
+	private static final int EMPTY = -1;
+
+	private int[] keys;
+	private int[] slots;
+	private int size;
+
+	IntSlotMap() {
+		keys = new int[16];
+		slots = new int[16];
+		Arrays.fill(slots, EMPTY);
+	}
+
+	// slot of the key, or -1
+	int get(int key) {
+		int mask = keys.length - 1;
+		for (int i = mix(key) & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return slots[i];
+			}
+		}
+		return EMPTY;
+	}
+
+	void put(int key, int slot) {
+		if (2 * (size + 1) > keys.length) {
+			resize();
+		}
+		int mask = keys.length - 1;
+		int i = mix(key) & mask;
+		while (slots[i] != EMPTY && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		if (slots[i] == EMPTY) {
+			size++;
+		}
+		keys[i] = key;
+		slots[i] = slot;
+	}
+
+	private void resize() {
+		int[] oldKeys = keys;
+		int[] oldSlots = slots;
+		keys = new int[oldKeys.length * 2];
+		slots = new int[oldKeys.length * 2];
+		Arrays.fill(slots, EMPTY);
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldSlots[i] != EMPTY) {
+				put(oldKeys[i], oldSlots[i]);
+			}
+		}
+	}
+
+	// pincodes are dense, spread them over the table
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
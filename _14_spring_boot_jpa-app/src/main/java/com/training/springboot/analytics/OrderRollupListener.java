@@ -0,0 +1,74 @@
+package com.training.springboot.analytics;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import com.training.springboot.entity.OrderInformation;
+
+// hibernate calls these once the transaction has committed, a rollback never reaches the rollups.
+// updates carry the previous state, so the old values are taken out before the new ones go in
+class OrderRollupListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+	private final OrderRollups orderRollups;
+
+	OrderRollupListener(OrderRollups orderRollups) {
+		this.orderRollups = orderRollups;
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		if (event.getEntity() instanceof OrderInformation order) {
+			orderRollups.apply(order.getCity(), order.getPincode(), order.getNoOfItems(), order.getAmount(), 1);
+		}
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		if (!(event.getEntity() instanceof OrderInformation order)) {
+			return;
+		}
+		Object[] oldState = event.getOldState();
+		if (oldState == null) {
+			// updated without being loaded first, the previous values are unknown.
+			// a rebuild here would scan the table on the committing thread while orders are written
+			orderRollups.markStale(order.getOrderId());
+			return;
+		}
+		List<String> properties = Arrays.asList(event.getPersister().getPropertyNames());
+		orderRollups.apply((String) oldState[properties.indexOf("city")], (Integer) oldState[properties.indexOf("pincode")],
+				(Integer) oldState[properties.indexOf("noOfItems")], (Double) oldState[properties.indexOf("amount")], -1);
+		orderRollups.apply(order.getCity(), order.getPincode(), order.getNoOfItems(), order.getAmount(), 1);
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if (event.getEntity() instanceof OrderInformation order) {
+			orderRollups.apply(order.getCity(), order.getPincode(), order.getNoOfItems(), order.getAmount(), -1);
+		}
+	}
+
+	@Override
+	public void onPostInsertCommitFailed(PostInsertEvent event) {
+	}
+
+	@Override
+	public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+	}
+
+	@Override
+	public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return persister.getMappedClass() == OrderInformation.class;
+	}
+}
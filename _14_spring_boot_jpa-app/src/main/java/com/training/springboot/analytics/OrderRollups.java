@@ -0,0 +1,179 @@
+package com.training.springboot.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Revenue, item and order totals by city and by pincode, kept in memory.
+ *
+ * Built at startup by a parallel scan of order_info (one id range per worker,
+ * merged at the end) and then changed by every committed insert, update and
+ * delete of an OrderInformation (see OrderRollupListener). A group-by query
+ * only walks the groups, it never touches the table.
+ * Bulk JPQL or native statements on order_info are not seen, nor is an update
+ * of an order that was not loaded first (isStale() tells); call rebuild() after
+ * them, while no orders are written.
+ */
+@Component
+public class OrderRollups {
+
+	private record Partial(CityTotals byCity, PincodeTotals byPincode) {
+	}
+
+	private static final String SCAN_SQL = "select city, pincode, no_of_items, amount from order_info where order_id >= ? and order_id <= ?";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	// hibernate has created order_info by the time this is injected
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Value("${app.orders.rollup.scan-threads:4}")
+	private int scanThreads;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private CityTotals byCity = new CityTotals();
+	private PincodeTotals byPincode = new PincodeTotals();
+	// committed updates whose previous values were unknown since the last rebuild
+	private final AtomicLong missedUpdates = new AtomicLong();
+
+	@PostConstruct
+	void load() throws InterruptedException {
+		rebuild();
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		OrderRollupListener listener = new OrderRollupListener(this);
+		registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+		registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+		registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+	}
+
+	public void rebuild() throws InterruptedException {
+		long start = System.nanoTime();
+		missedUpdates.set(0);
+		Partial total = new Partial(new CityTotals(), new PincodeTotals());
+		long[] range = jdbcTemplate.queryForObject("select min(order_id), max(order_id) from order_info",
+				(rs, rowNum) -> rs.getObject(1) == null ? null : new long[] { rs.getLong(1), rs.getLong(2) });
+		int partitions = 0;
+		if (range != null) {
+			partitions = (int) Math.min(scanThreads, range[1] - range[0] + 1);
+			ExecutorService workers = Executors.newFixedThreadPool(partitions);
+			try {
+				List<Future<Partial>> results = new ArrayList<>();
+				long span = range[1] - range[0] + 1;
+				for (int i = 0; i < partitions; i++) {
+					long from = range[0] + span * i / partitions;
+					long to = range[0] + span * (i + 1) / partitions - 1;
+					results.add(workers.submit(() -> scan(from, to)));
+				}
+				for (Future<Partial> result : results) {
+					Partial partial = result.get();
+					total.byCity().merge(partial.byCity());
+					total.byPincode().merge(partial.byPincode());
+				}
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Order rollup scan failed", e.getCause());
+			} finally {
+				workers.shutdown();
+			}
+		}
+		lock.writeLock().lock();
+		try {
+			byCity = total.byCity();
+			byPincode = total.byPincode();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		System.out.println("order rollups : " + byCity.all().size() + " cities, " + byPincode.all().size() + " pincodes from "
+				+ partitions + " partition(s) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+	}
+
+	private Partial scan(long from, long to) {
+		Partial partial = new Partial(new CityTotals(), new PincodeTotals());
+		jdbcTemplate.query(SCAN_SQL, rs -> {
+			int items = rs.getInt(3);
+			double amount = rs.getDouble(4);
+			partial.byCity().add(rs.getString(1), 1, items, amount);
+			partial.byPincode().add(rs.getInt(2), 1, items, amount);
+		}, from, to);
+		return partial;
+	}
+
+	// sign 1 adds an order, -1 takes it out again
+	void apply(String city, int pincode, int items, double amount, int sign) {
+		lock.writeLock().lock();
+		try {
+			byCity.add(city, sign, sign * (long) items, sign * amount);
+			byPincode.add(pincode, sign, sign * (long) items, sign * amount);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	void markStale(long orderId) {
+		if (missedUpdates.getAndIncrement() == 0) {
+			System.out.println("order rollups : order " + orderId + " was updated without its previous values,"
+					+ " the totals are off until rebuild() runs");
+		}
+	}
+
+	// true when an update could not be applied, the totals are off until the next rebuild
+	public boolean isStale() {
+		return missedUpdates.get() > 0;
+	}
+
+	public List<OrderTotals> totalsByCity() {
+		lock.readLock().lock();
+		try {
+			return byCity.all();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<OrderTotals> totalsByPincode() {
+		lock.readLock().lock();
+		try {
+			return byPincode.all();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// null when there is no order for the city
+	public OrderTotals totalsForCity(String city) {
+		lock.readLock().lock();
+		try {
+			return byCity.get(city);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// null when there is no order for the pincode
+	public OrderTotals totalsForPincode(int pincode) {
+		lock.readLock().lock();
+		try {
+			return byPincode.get(pincode);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+}
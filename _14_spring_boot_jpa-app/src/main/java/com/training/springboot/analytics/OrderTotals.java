@@ -0,0 +1,6 @@
+package com.training.springboot.analytics;
+
+// one row of a group-by : number of orders, items and revenue of a city or pincode
+public record OrderTotals(String group, long orders, long items, double revenue) {
+
+}
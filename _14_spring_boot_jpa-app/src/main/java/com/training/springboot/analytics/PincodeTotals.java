@@ -0,0 +1,43 @@
+package com.training.springboot.analytics;
+
+import java.util.Arrays;
+
+// totals by pincode, looked up without boxing
+final class PincodeTotals extends GroupTotals {
+
+	private final IntSlotMap slots = new IntSlotMap();
+	private int[] pincodes = new int[16];
+
+	void add(int pincode, long orders, long items, double revenue) {
+		addToSlot(slot(pincode), orders, items, revenue);
+	}
+
+	void merge(PincodeTotals other) {
+		for (int slot = 0; slot < other.size(); slot++) {
+			addSlot(slot(other.pincodes[slot]), other, slot);
+		}
+	}
+
+	OrderTotals get(int pincode) {
+		int slot = slots.get(pincode);
+		return totals(slot, Integer.toString(pincode));
+	}
+
+	@Override
+	protected String group(int slot) {
+		return Integer.toString(pincodes[slot]);
+	}
+
+	private int slot(int pincode) {
+		int slot = slots.get(pincode);
+		if (slot < 0) {
+			slot = newSlot();
+			if (slot == pincodes.length) {
+				pincodes = Arrays.copyOf(pincodes, slot * 2);
+			}
+			pincodes[slot] = pincode;
+			slots.put(pincode, slot);
+		}
+		return slot;
+	}
+}
@@ -0,0 +1,297 @@
+package com.training.springboot.hotstore;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.training.springboot.entity.OrderInformation;
+import com.training.springboot.repositary.OrderInformationRepositary;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Off-heap copy of the most recently written orders.
+ *
+ * Every order is a 64 byte record in a direct buffer used as a ring: orderId,
+ * insert time, amount, noOfItems, pincode and where its strings are. The
+ * strings (email, name, contact, city) are utf-8 in a second ring buffer, the
+ * arena. A LongIntMap takes the orderId to the record slot. The oldest order
+ * is dropped when a ring is full or once it is older than retention-hours.
+ *
+ * Orders enter through a hibernate post-commit listener; the table has no
+ * insert time, so the store starts empty and only holds orders written since
+ * startup. read() copies a hot order into a caller's view without allocating,
+ * readers do not block each other. find() falls through to the repository.
+ */
+@Component
+public class HotOrderStore {
+
+	private static final int RECORD_BYTES = 64;
+	private static final int ORDER_ID = 0;
+	private static final int INSERTED_AT = 8;
+	private static final int AMOUNT = 16;
+	private static final int NO_OF_ITEMS = 24;
+	private static final int PINCODE = 28;
+	private static final int ARENA_OFFSET = 32;
+	// four int lengths : email, name, contact, city
+	private static final int LENGTHS = 36;
+
+	@Autowired
+	private OrderInformationRepositary orderRepositary;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Value("${app.orders.hot.capacity:100000}")
+	private int capacity;
+	@Value("${app.orders.hot.arena-mb:32}")
+	private int arenaMegabytes;
+	@Value("${app.orders.hot.retention-hours:6}")
+	private long retentionHours;
+
+	private final StampedLock lock = new StampedLock();
+	private final ThreadLocal<HotOrderView> views = ThreadLocal.withInitial(HotOrderView::new);
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private ByteBuffer records;
+	private ByteBuffer arena;
+	private LongIntMap slots;
+	private long retentionMillis;
+	// records live in sequence numbers [head, tail), slot = sequence % capacity
+	private long head;
+	private long tail;
+	private int arenaWrite;
+
+	@PostConstruct
+	void start() {
+		allocate();
+		EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		HotOrderListener listener = new HotOrderListener(this);
+		registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+		registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+		registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+	}
+
+	void allocate() {
+		records = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, RECORD_BYTES));
+		arena = ByteBuffer.allocateDirect(Math.multiplyExact(arenaMegabytes, 1 << 20));
+		slots = new LongIntMap(capacity);
+		retentionMillis = TimeUnit.HOURS.toMillis(retentionHours);
+	}
+
+	/**
+	 * Copies the order into view if it is hot.
+	 *
+	 * @return false when the order is not in the store (or too old), view is then undefined
+	 */
+	public boolean read(long orderId, HotOrderView view) {
+		long stamp = lock.tryOptimisticRead();
+		boolean found = stamp != 0 && readUnlocked(orderId, view);
+		if (!lock.validate(stamp)) {
+			// a writer got in between, read again holding the lock
+			stamp = lock.readLock();
+			try {
+				found = readUnlocked(orderId, view);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		(found ? hits : misses).increment();
+		return found;
+	}
+
+	// the hot copy when there is one, the database otherwise
+	public Optional<OrderInformation> find(long orderId) {
+		HotOrderView view = views.get();
+		if (read(orderId, view)) {
+			return Optional.of(view.toOrder());
+		}
+		return orderRepositary.findById(orderId);
+	}
+
+	void put(OrderInformation order) {
+		byte[][] strings = { utf8(order.getEmailId()), utf8(order.getName()), utf8(order.getContact()), utf8(order.getCity()) };
+		int stringBytes = 0;
+		for (byte[] string : strings) {
+			stringBytes += string == null ? 0 : string.length;
+		}
+		if (stringBytes > arena.capacity()) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		long stamp = lock.writeLock();
+		try {
+			expire(now);
+			if (tail - head == capacity) {
+				evictHead();
+			}
+			if (stringBytes > 0) {
+				reserve(stringBytes);
+			}
+			int slot = slotOf(tail);
+			int base = slot * RECORD_BYTES;
+			records.putLong(base + ORDER_ID, order.getOrderId());
+			records.putLong(base + INSERTED_AT, now);
+			records.putDouble(base + AMOUNT, order.getAmount());
+			records.putInt(base + NO_OF_ITEMS, order.getNoOfItems());
+			records.putInt(base + PINCODE, order.getPincode());
+			records.putInt(base + ARENA_OFFSET, arenaWrite);
+			for (int i = 0; i < strings.length; i++) {
+				records.putInt(base + LENGTHS + 4 * i, strings[i] == null ? -1 : strings[i].length);
+				if (strings[i] != null) {
+					arena.put(arenaWrite, strings[i]);
+					arenaWrite += strings[i].length;
+				}
+			}
+			// an update leaves the previous record behind, it no longer owns the key
+			slots.put(order.getOrderId(), slot);
+			tail++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	void remove(long orderId) {
+		long stamp = lock.writeLock();
+		try {
+			int slot = slots.get(orderId);
+			if (slot >= 0) {
+				slots.remove(orderId, slot);
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return slots.size();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	public void report() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+		System.out.println("hot orders : size=" + size() + ", hits=" + hitCount + ", misses=" + misses.sum() + ", hit%="
+				+ String.format("%.1f", total == 0 ? 0.0 : hitCount * 100.0 / total) + ", evictions=" + evictions.sum());
+	}
+
+	// may run while a writer changes the buffers, read() validates the result
+	private boolean readUnlocked(long orderId, HotOrderView view) {
+		int slot = slots.get(orderId);
+		if (slot < 0 || slot >= capacity) {
+			return false;
+		}
+		int base = slot * RECORD_BYTES;
+		if (records.getLong(base + ORDER_ID) != orderId) {
+			return false;
+		}
+		view.insertedAtMillis = records.getLong(base + INSERTED_AT);
+		if (System.currentTimeMillis() - view.insertedAtMillis > retentionMillis) {
+			return false;
+		}
+		view.orderId = orderId;
+		view.amount = records.getDouble(base + AMOUNT);
+		view.noOfItems = records.getInt(base + NO_OF_ITEMS);
+		view.pincode = records.getInt(base + PINCODE);
+		int offset = records.getInt(base + ARENA_OFFSET);
+		int bytes = 0;
+		for (int i = 0; i < 4; i++) {
+			view.lengths[i] = records.getInt(base + LENGTHS + 4 * i);
+			bytes += Math.max(0, view.lengths[i]);
+		}
+		if (offset < 0 || bytes < 0 || bytes > arena.capacity() - offset) {
+			return false;
+		}
+		view.ensureStringCapacity(bytes);
+		arena.get(offset, view.strings, 0, bytes);
+		return true;
+	}
+
+	private void expire(long now) {
+		while (head < tail && now - records.getLong(slotOf(head) * RECORD_BYTES + INSERTED_AT) > retentionMillis) {
+			evictHead();
+		}
+	}
+
+	private void evictHead() {
+		int slot = slotOf(head);
+		slots.remove(records.getLong(slot * RECORD_BYTES + ORDER_ID), slot);
+		head++;
+		evictions.increment();
+	}
+
+	// frees [arenaWrite, arenaWrite + length), wrapping to 0 when it does not fit at the end.
+	// records hold their strings in the arena in insert order, so the oldest record with strings
+	// is the only one that can be in the way; records without strings take no arena space.
+	private void reserve(int length) {
+		if (arenaWrite + length > arena.capacity()) {
+			// everything from the old write position to the end is from the previous lap
+			int end = arenaWrite;
+			arenaWrite = 0;
+			for (long oldest = oldestWithStrings(); oldest >= 0 && arenaStart(oldest) >= end; oldest = oldestWithStrings()) {
+				evictThrough(oldest);
+			}
+		}
+		for (long oldest = oldestWithStrings(); oldest >= 0 && overlaps(oldest, arenaWrite, length); oldest = oldestWithStrings()) {
+			evictThrough(oldest);
+		}
+	}
+
+	// sequence of the oldest record with at least one string byte, -1 when there is none
+	private long oldestWithStrings() {
+		for (long sequence = head; sequence < tail; sequence++) {
+			if (arenaBytes(sequence) > 0) {
+				return sequence;
+			}
+		}
+		return -1;
+	}
+
+	private void evictThrough(long sequence) {
+		while (head <= sequence) {
+			evictHead();
+		}
+	}
+
+	private int arenaStart(long sequence) {
+		return records.getInt(slotOf(sequence) * RECORD_BYTES + ARENA_OFFSET);
+	}
+
+	private int arenaBytes(long sequence) {
+		int base = slotOf(sequence) * RECORD_BYTES;
+		int bytes = 0;
+		for (int i = 0; i < 4; i++) {
+			bytes += Math.max(0, records.getInt(base + LENGTHS + 4 * i));
+		}
+		return bytes;
+	}
+
+	// does the arena block of the record intersect [from, from + length)
+	private boolean overlaps(long sequence, int from, int length) {
+		int start = arenaStart(sequence);
+		return start < from + length && start + arenaBytes(sequence) > from;
+	}
+
+	private int slotOf(long sequence) {
+		return (int) (sequence % capacity);
+	}
+
+	private static byte[] utf8(String value) {
+		return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+	}
+}
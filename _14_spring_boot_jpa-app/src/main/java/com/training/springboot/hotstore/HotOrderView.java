@@ -0,0 +1,81 @@
+package com.training.springboot.hotstore;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.training.springboot.entity.OrderInformation;
+
+/**
+ * Reusable holder a hot order is copied into. Filling it allocates nothing
+ * (the string buffer only grows when a longer order comes along); the string
+ * getters and toOrder() allocate when they are called.
+ * One view per thread, it is overwritten by the next lookup.
+ */
+public final class HotOrderView {
+
+	long orderId;
+	long insertedAtMillis;
+	double amount;
+	int noOfItems;
+	int pincode;
+	// email, name, contact, city as utf-8, -1 length for null
+	final int[] lengths = new int[4];
+	byte[] strings = new byte[256];
+
+	public long getOrderId() {
+		return orderId;
+	}
+
+	public long getInsertedAtMillis() {
+		return insertedAtMillis;
+	}
+
+	public double getAmount() {
+		return amount;
+	}
+
+	public int getNoOfItems() {
+		return noOfItems;
+	}
+
+	public int getPincode() {
+		return pincode;
+	}
+
+	public String getEmailId() {
+		return string(0);
+	}
+
+	public String getName() {
+		return string(1);
+	}
+
+	public String getContact() {
+		return string(2);
+	}
+
+	public String getCity() {
+		return string(3);
+	}
+
+	public OrderInformation toOrder() {
+		return new OrderInformation(orderId, getEmailId(), noOfItems, getName(), getContact(), getCity(), pincode, amount);
+	}
+
+	void ensureStringCapacity(int bytes) {
+		if (strings.length < bytes) {
+			strings = Arrays.copyOf(strings, Math.max(bytes, strings.length * 2));
+		}
+	}
+
+	private String string(int field) {
+		if (lengths[field] < 0) {
+			return null;
+		}
+		int offset = 0;
+		for (int i = 0; i < field; i++) {
+			offset += Math.max(0, lengths[i]);
+		}
+		return new String(strings, offset, lengths[field], StandardCharsets.UTF_8);
+	}
+}
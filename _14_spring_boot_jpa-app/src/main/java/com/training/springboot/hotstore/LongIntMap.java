@@ -0,0 +1,109 @@
+package com.training.springboot.hotstore;
+
+/**
+ * long key to int value map with open addressing and linear probing, no boxing.
+ *
+ * Keys and values share one long[] (key at 2i, value + 1 at 2i + 1, 0 meaning
+ * empty), so a reader never sees the keys of one table with the values of
+ * another while a writer resizes. Removal shifts the following entries back
+ * instead of leaving tombstones. Not thread safe, HotOrderStore guards it.
+ */
+final class LongIntMap {
+
+	private long[] table;
+	private int size;
+
+	LongIntMap(int expected) {
+		table = new long[2 * Math.max(16, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) * 2)];
+	}
+
+	// value of the key, or -1. safe to call while a writer changes the map, the
+	// answer is then only a guess the caller has to validate
+	int get(long key) {
+		long[] t = table;
+		int mask = t.length / 2 - 1;
+		for (int i = index(key, mask), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+			long value = t[2 * i + 1];
+			if (value == 0) {
+				return -1;
+			}
+			if (t[2 * i] == key) {
+				return (int) value - 1;
+			}
+		}
+		return -1;
+	}
+
+	void put(long key, int value) {
+		if (2 * (size + 1) > table.length / 2) {
+			resize();
+		}
+		int mask = table.length / 2 - 1;
+		int i = index(key, mask);
+		while (table[2 * i + 1] != 0 && table[2 * i] != key) {
+			i = (i + 1) & mask;
+		}
+		if (table[2 * i + 1] == 0) {
+			size++;
+		}
+		table[2 * i] = key;
+		table[2 * i + 1] = value + 1L;
+	}
+
+	// removes the key only while it still maps to value
+	boolean remove(long key, int value) {
+		int mask = table.length / 2 - 1;
+		int i = index(key, mask);
+		while (table[2 * i + 1] != 0) {
+			if (table[2 * i] == key) {
+				if (table[2 * i + 1] != value + 1L) {
+					return false;
+				}
+				shiftBack(i, mask);
+				size--;
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private void shiftBack(int gap, int mask) {
+		int i = gap;
+		while (true) {
+			i = (i + 1) & mask;
+			if (table[2 * i + 1] == 0) {
+				break;
+			}
+			int home = index(table[2 * i], mask);
+			// the entry at i may move into the gap when its home is not between gap and i
+			if (gap <= i ? (home <= gap || home > i) : (home <= gap && home > i)) {
+				table[2 * gap] = table[2 * i];
+				table[2 * gap + 1] = table[2 * i + 1];
+				gap = i;
+			}
+		}
+		table[2 * gap] = 0;
+		table[2 * gap + 1] = 0;
+	}
+
+	private void resize() {
+		long[] old = table;
+		table = new long[old.length * 2];
+		size = 0;
+		for (int i = 0; i < old.length; i += 2) {
+			if (old[i + 1] != 0) {
+				put(old[i], (int) old[i + 1] - 1);
+			}
+		}
+	}
+
+	private static int index(long key, int mask) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+}
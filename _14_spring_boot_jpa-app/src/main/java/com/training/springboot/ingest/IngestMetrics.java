@@ -0,0 +1,93 @@
+package com.training.springboot.ingest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the write-behind order pipeline, readable while it runs.
+ * Lag is the age of the oldest accepted order that is not in the database yet.
+ */
+public class IngestMetrics {
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder persisted = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder commitNanos = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+	private final AtomicLong maxLagNanos = new AtomicLong();
+	// accept time of the oldest order still waiting or being written, 0 when idle
+	private volatile long oldestPendingNanos;
+	private volatile int queued;
+
+	void accepted() {
+		accepted.increment();
+	}
+
+	void batchCommitted(int orders, long nanos, long oldestAcceptedNanos) {
+		persisted.add(orders);
+		batches.increment();
+		commitNanos.add(nanos);
+		maxLagNanos.accumulateAndGet(System.nanoTime() - oldestAcceptedNanos, Math::max);
+	}
+
+	void orderFailed() {
+		failed.increment();
+	}
+
+	void retried() {
+		retries.increment();
+	}
+
+	void pending(long oldestAcceptedNanos, int queued) {
+		this.oldestPendingNanos = oldestAcceptedNanos;
+		this.queued = queued;
+	}
+
+	public long getAccepted() {
+		return accepted.sum();
+	}
+
+	public long getPersisted() {
+		return persisted.sum();
+	}
+
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	public long getRetries() {
+		return retries.sum();
+	}
+
+	public int getQueued() {
+		return queued;
+	}
+
+	public long getLagMillis() {
+		long oldest = oldestPendingNanos;
+		return oldest == 0 ? 0 : (System.nanoTime() - oldest) / 1_000_000;
+	}
+
+	public long getMaxLagMillis() {
+		return maxLagNanos.get() / 1_000_000;
+	}
+
+	public double getAverageBatchSize() {
+		long count = batches.sum();
+		return count == 0 ? 0 : (double) persisted.sum() / count;
+	}
+
+	public double getAverageCommitMillis() {
+		long count = batches.sum();
+		return count == 0 ? 0 : commitNanos.sum() / 1_000_000.0 / count;
+	}
+
+	@Override
+	public String toString() {
+		return "accepted=" + getAccepted() + ", persisted=" + getPersisted() + ", failed=" + getFailed() + ", queued="
+				+ getQueued() + ", lagMs=" + getLagMillis() + ", maxLagMs=" + getMaxLagMillis() + ", avgBatch="
+				+ String.format("%.1f", getAverageBatchSize()) + ", avgCommitMs=" + String.format("%.2f", getAverageCommitMillis())
+				+ ", retries=" + getRetries();
+	}
+}
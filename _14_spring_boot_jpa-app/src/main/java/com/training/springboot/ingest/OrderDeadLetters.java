@@ -0,0 +1,38 @@
+package com.training.springboot.ingest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.training.springboot.entity.OrderInformation;
+
+/**
+ * Orders the database rejected, appended in the journal line format with the
+ * reason as an extra last column, so they can be corrected and submitted again.
+ * The journal drops a rejected order once it is here (or on stderr when the file is not writable).
+ */
+class OrderDeadLetters {
+
+	private final Path file;
+
+	OrderDeadLetters(Path file) {
+		this.file = file;
+	}
+
+	synchronized void add(long seq, OrderInformation order, RuntimeException reason) {
+		String line = OrderJournal.encode(seq, order).stripTrailing() + "\t" + OrderJournal.escape(String.valueOf(reason)) + "\n";
+		try {
+			Path dir = file.toAbsolutePath().getParent();
+			if (dir != null) {
+				Files.createDirectories(dir);
+			}
+			Files.writeString(file, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			System.out.println("order writer : order " + order.getOrderId() + " rejected, written to " + file + " : " + reason.getMessage());
+		} catch (IOException e) {
+			// last resort, the line still has everything needed to submit the order again
+			System.err.println("order writer : order rejected and the dead letter file is not writable (" + e.getMessage() + ") : " + line);
+		}
+	}
+}
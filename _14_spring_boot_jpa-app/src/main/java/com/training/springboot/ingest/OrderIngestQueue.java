@@ -0,0 +1,343 @@
+package com.training.springboot.ingest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.training.springboot.entity.OrderInformation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Write-behind order capture.
+ *
+ * submit() journals the order, puts it on a bounded queue and returns, so the
+ * caller never waits for a database commit. A background writer takes up to
+ * flush-size orders, or whatever arrived within flush-interval-ms of the first
+ * one, and inserts them in one batched transaction.
+ *
+ * Orders left in the journal by a crash are replayed on startup (as merges, a
+ * replayed order may already be committed). When the database is unreachable
+ * or busy a batch is retried with backoff and stays in the journal until it
+ * commits. A batch rejected for any other reason is retried order by order
+ * with save() semantics, and an order rejected on its own is written to the
+ * dead letter file, so one bad order does not block the others.
+ */
+// rollups are loaded and listening before the journal replay writes the first order
+@DependsOn("orderRollups")
+@Component
+public class OrderIngestQueue {
+
+	private record PendingOrder(long seq, OrderInformation order, long acceptedNanos, boolean replayed) {
+	}
+
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Value("${app.orders.queue-capacity:10000}")
+	private int capacity;
+	@Value("${app.orders.flush-size:500}")
+	private int flushSize;
+	@Value("${app.orders.flush-interval-ms:200}")
+	private long flushIntervalMillis;
+	// how long submit() waits for room in a full queue before it gives up
+	@Value("${app.orders.accept-timeout-ms:1000}")
+	private long acceptTimeoutMillis;
+	// empty : memory only, orders still queued are lost with the process
+	@Value("${app.orders.journal-dir:}")
+	private String journalDir;
+	// force every journal append to disk before the order is acknowledged
+	@Value("${app.orders.journal-sync:true}")
+	private boolean journalSync;
+	// orders the database rejected, with the reason
+	@Value("${app.orders.dead-letter-file:orders.dead-letter}")
+	private String deadLetterFile;
+
+	private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+	private final IngestMetrics metrics = new IngestMetrics();
+	private Semaphore room;
+	private OrderJournal journal;
+	private OrderDeadLetters deadLetters;
+	private TransactionTemplate transactionTemplate;
+	private Thread writer;
+	private volatile boolean running;
+	// set once an order is left in the journal at shutdown, nothing after it may be checkpointed
+	private volatile boolean gaveUp;
+	private volatile List<PendingOrder> inFlight = List.of();
+	// highest sequence handed out and highest committed, guarded by this
+	private long lastSubmittedSeq;
+	private long lastPersistedSeq;
+
+	@PostConstruct
+	void start() throws IOException, InterruptedException {
+		room = new Semaphore(capacity);
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		deadLetters = new OrderDeadLetters(Path.of(deadLetterFile));
+		List<OrderJournal.Entry> replay = List.of();
+		if (!journalDir.isBlank()) {
+			journal = new OrderJournal(Path.of(journalDir), journalSync);
+			replay = journal.open();
+		}
+		running = true;
+		writer = new Thread(this::writeLoop, "order-writer");
+		writer.setDaemon(true);
+		writer.start();
+		for (OrderJournal.Entry entry : replay) {
+			room.acquire();
+			enqueue(new PendingOrder(entry.seq(), entry.order(), System.nanoTime(), true));
+		}
+		if (!replay.isEmpty()) {
+			System.out.println("order journal : replaying " + replay.size() + " unpersisted order(s)");
+		}
+	}
+
+	/**
+	 * Accepts the order for asynchronous persistence. The order is journaled as
+	 * it is now and must not be changed afterwards.
+	 *
+	 * @return sequence number of the order, see awaitPersisted
+	 * @throws IllegalStateException when the queue stays full for accept-timeout-ms
+	 */
+	public long submit(OrderInformation order) {
+		if (!running) {
+			throw new IllegalStateException("Order queue is shut down");
+		}
+		try {
+			if (!room.tryAcquire(acceptTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new IllegalStateException("Order queue is full (" + capacity + " orders waiting)");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for room in the order queue", e);
+		}
+		try {
+			synchronized (this) {
+				long seq = journal != null ? journal.append(order) : lastSubmittedSeq + 1;
+				enqueue(new PendingOrder(seq, order, System.nanoTime(), false));
+				metrics.accepted();
+				return seq;
+			}
+		} catch (IOException e) {
+			room.release();
+			throw new UncheckedIOException("Order could not be journaled", e);
+		}
+	}
+
+	// blocks until the order with this sequence number (and all before it) is in the database
+	public synchronized boolean awaitPersisted(long seq, long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (lastPersistedSeq < seq) {
+			long wait = deadline - System.currentTimeMillis();
+			if (wait <= 0) {
+				return false;
+			}
+			wait(wait);
+		}
+		return true;
+	}
+
+	// blocks until everything accepted so far is in the database
+	public boolean flush(long timeoutMillis) throws InterruptedException {
+		long seq;
+		synchronized (this) {
+			seq = lastSubmittedSeq;
+		}
+		return awaitPersisted(seq, timeoutMillis);
+	}
+
+	public IngestMetrics getMetrics() {
+		updatePending();
+		return metrics;
+	}
+
+	public void report() {
+		System.out.println("order ingest : " + getMetrics());
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException, IOException {
+		// the writer notices within flush-interval-ms and drains the queue before it exits
+		running = false;
+		writer.join(TimeUnit.SECONDS.toMillis(30));
+		report();
+		if (journal != null) {
+			journal.close();
+		}
+	}
+
+	private synchronized void enqueue(PendingOrder pending) {
+		lastSubmittedSeq = Math.max(lastSubmittedSeq, pending.seq());
+		queue.add(pending);
+	}
+
+	private void writeLoop() {
+		List<PendingOrder> batch = new ArrayList<>(flushSize);
+		while (!gaveUp && (running || !queue.isEmpty())) {
+			try {
+				PendingOrder first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = first.acceptedNanos() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+				while (batch.size() < flushSize && running) {
+					queue.drainTo(batch, flushSize - batch.size());
+					long wait = deadline - System.nanoTime();
+					if (batch.size() == flushSize || wait <= 0) {
+						break;
+					}
+					PendingOrder next = queue.poll(wait, TimeUnit.NANOSECONDS);
+					if (next != null) {
+						batch.add(next);
+					}
+				}
+			} catch (InterruptedException e) {
+				// not expected, write what is there and go on
+			}
+			queue.drainTo(batch, flushSize - batch.size());
+			if (!batch.isEmpty()) {
+				inFlight = batch;
+				write(batch);
+				room.release(batch.size());
+				inFlight = List.of();
+				batch = new ArrayList<>(flushSize);
+			}
+		}
+	}
+
+	private void write(List<PendingOrder> batch) {
+		long backoffMillis = 100;
+		while (true) {
+			long start = System.nanoTime();
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					for (PendingOrder pending : batch) {
+						// a replayed order may have been committed right before the crash
+						if (pending.replayed()) {
+							entityManager.merge(pending.order());
+						} else {
+							entityManager.persist(pending.order());
+						}
+					}
+				});
+				metrics.batchCommitted(batch.size(), System.nanoTime() - start, batch.get(0).acceptedNanos());
+				persisted(batch.get(batch.size() - 1).seq());
+				return;
+			} catch (RuntimeException e) {
+				if (!isTransient(e)) {
+					// something in the batch is rejected, find out which order
+					writeOneByOne(batch);
+					return;
+				}
+				if (!running) {
+					giveUp(batch.size(), e);
+					return;
+				}
+				backoffMillis = backoff(backoffMillis, batch.size(), e);
+			}
+		}
+	}
+
+	// the batch was rejected : merge each order on its own, like the old save() call.
+	// an order that fails for a reason other than the database being unavailable goes to the dead letter file.
+	private void writeOneByOne(List<PendingOrder> batch) {
+		for (PendingOrder pending : batch) {
+			long backoffMillis = 100;
+			while (true) {
+				long start = System.nanoTime();
+				try {
+					transactionTemplate.executeWithoutResult(status -> entityManager.merge(pending.order()));
+					metrics.batchCommitted(1, System.nanoTime() - start, pending.acceptedNanos());
+					break;
+				} catch (RuntimeException e) {
+					if (!isTransient(e)) {
+						metrics.orderFailed();
+						deadLetters.add(pending.seq(), pending.order(), e);
+						break;
+					}
+					if (!running) {
+						// the orders before it are done, this one and the rest stay in the journal
+						giveUp(batch.size() - batch.indexOf(pending), e);
+						return;
+					}
+					backoffMillis = backoff(backoffMillis, 1, e);
+				}
+			}
+			persisted(pending.seq());
+		}
+	}
+
+	// the database is unavailable or busy, the same statements can succeed later
+	private static boolean isTransient(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+					|| cause instanceof CannotGetJdbcConnectionException || cause instanceof CannotCreateTransactionException
+					|| cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private long backoff(long backoffMillis, int orders, RuntimeException e) {
+		metrics.retried();
+		System.out.println("order writer : " + orders + " order(s) failed, retrying in " + backoffMillis + " ms : " + e.getMessage());
+		try {
+			Thread.sleep(backoffMillis);
+		} catch (InterruptedException interrupted) {
+			// shutdown, one more attempt
+		}
+		return Math.min(backoffMillis * 2, 10_000);
+	}
+
+	// left in the journal, replayed on the next start. the writer stops here : a later batch that
+	// commits would move the checkpoint past these orders and they would never be replayed
+	private void giveUp(int orders, RuntimeException e) {
+		gaveUp = true;
+		System.out.println("order writer : giving up on " + orders + " order(s) at shutdown, " + queue.size()
+				+ " more queued, all left in the journal : " + e.getMessage());
+	}
+
+	private void persisted(long seq) {
+		if (journal != null) {
+			try {
+				journal.checkpoint(seq);
+			} catch (IOException e) {
+				// the orders are committed, at worst they are merged again after a restart
+				System.out.println("order journal : checkpoint failed : " + e.getMessage());
+			}
+		}
+		synchronized (this) {
+			lastPersistedSeq = Math.max(lastPersistedSeq, seq);
+			notifyAll();
+		}
+	}
+
+	private void updatePending() {
+		List<PendingOrder> writing = inFlight;
+		PendingOrder oldest = !writing.isEmpty() ? writing.get(0) : queue.peek();
+		metrics.pending(oldest == null ? 0 : oldest.acceptedNanos(), queue.size() + writing.size());
+	}
+}
@@ -0,0 +1,170 @@
+package com.training.springboot.ingest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.training.springboot.entity.OrderInformation;
+
+/**
+ * Append only file of accepted orders, one tab separated line per order,
+ * prefixed with a sequence number. A separate checkpoint file holds the
+ * highest sequence that is committed to the database; whatever comes after
+ * it is replayed on the next start. Once everything is committed the
+ * journal is truncated, so it only ever holds the unpersisted tail.
+ */
+class OrderJournal implements Closeable {
+
+	record Entry(long seq, OrderInformation order) {
+	}
+
+	private static final int FIELDS = 9;
+	private static final String NULL = "\\N";
+
+	private final Path file;
+	private final Path checkpointFile;
+	private final boolean sync;
+	private FileChannel channel;
+	private long nextSeq;
+
+	OrderJournal(Path dir, boolean sync) throws IOException {
+		Files.createDirectories(dir);
+		this.file = dir.resolve("orders.journal");
+		this.checkpointFile = dir.resolve("orders.checkpoint");
+		this.sync = sync;
+	}
+
+	// entries that were accepted but never committed, in journal order
+	synchronized List<Entry> open() throws IOException {
+		long committed = Files.exists(checkpointFile) ? Long.parseLong(Files.readString(checkpointFile).strip()) : 0;
+		List<Entry> pending = new ArrayList<>();
+		long lastSeq = committed;
+		if (Files.exists(file)) {
+			cutTornLine();
+			try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					Entry entry = decode(line);
+					if (entry != null) {
+						lastSeq = Math.max(lastSeq, entry.seq());
+						if (entry.seq() > committed) {
+							pending.add(entry);
+						}
+					}
+				}
+			}
+		}
+		nextSeq = lastSeq + 1;
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		return pending;
+	}
+
+	// a crash in the middle of an append leaves a line without '\n', it was never acknowledged.
+	// it is cut off, otherwise the next append would continue it and be lost with it
+	private void cutTornLine() throws IOException {
+		try (FileChannel torn = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate(8192);
+			long end = torn.size();
+			while (end > 0) {
+				long from = Math.max(0, end - buffer.capacity());
+				buffer.clear().limit((int) (end - from));
+				while (buffer.hasRemaining()) {
+					if (torn.read(buffer, from + buffer.position()) < 0) {
+						break;
+					}
+				}
+				for (int i = buffer.position() - 1; i >= 0; i--) {
+					if (buffer.get(i) == '\n') {
+						torn.truncate(from + i + 1);
+						return;
+					}
+				}
+				end = from;
+			}
+			torn.truncate(0);
+		}
+	}
+
+	synchronized long append(OrderInformation order) throws IOException {
+		long seq = nextSeq++;
+		ByteBuffer line = ByteBuffer.wrap(encode(seq, order).getBytes(StandardCharsets.UTF_8));
+		while (line.hasRemaining()) {
+			channel.write(line);
+		}
+		if (sync) {
+			channel.force(false);
+		}
+		return seq;
+	}
+
+	// everything up to seq is in the database
+	synchronized void checkpoint(long seq) throws IOException {
+		Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+		Files.writeString(tmp, Long.toString(seq));
+		Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		if (seq == nextSeq - 1) {
+			channel.truncate(0);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+		}
+	}
+
+	static String encode(long seq, OrderInformation order) {
+		return seq + "\t" + order.getOrderId() + "\t" + escape(order.getEmailId()) + "\t" + order.getNoOfItems() + "\t"
+				+ escape(order.getName()) + "\t" + escape(order.getContact()) + "\t" + escape(order.getCity()) + "\t"
+				+ order.getPincode() + "\t" + order.getAmount() + "\n";
+	}
+
+	private static Entry decode(String line) {
+		String[] values = line.split("\t", -1);
+		if (values.length != FIELDS) {
+			return null;
+		}
+		try {
+			OrderInformation order = new OrderInformation(Long.parseLong(values[1]), unescape(values[2]),
+					Integer.parseInt(values[3]), unescape(values[4]), unescape(values[5]), unescape(values[6]),
+					Integer.parseInt(values[7]), Double.parseDouble(values[8]));
+			return new Entry(Long.parseLong(values[0]), order);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	static String escape(String value) {
+		if (value == null) {
+			return NULL;
+		}
+		return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String unescape(String value) {
+		if (NULL.equals(value)) {
+			return null;
+		}
+		StringBuilder text = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length()) {
+				char next = value.charAt(++i);
+				text.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+			} else {
+				text.append(c);
+			}
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,66 @@
+package com.training.springboot.hotstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.training.springboot.entity.OrderInformation;
+
+class HotOrderStoreTests {
+
+	// strings of 0 to ~600 bytes, some orders without any, so the 1 MB arena wraps many times
+	@Test
+	void ordersReadBackAfterTheArenaWraps() {
+		HotOrderStore store = new HotOrderStore();
+		ReflectionTestUtils.setField(store, "capacity", 100_000);
+		ReflectionTestUtils.setField(store, "arenaMegabytes", 1);
+		ReflectionTestUtils.setField(store, "retentionHours", 6L);
+		store.allocate();
+
+		Random random = new Random(42);
+		Map<Long, OrderInformation> written = new HashMap<>();
+		HotOrderView view = new HotOrderView();
+		int hot = 0;
+		for (long orderId = 1; orderId <= 30_000; orderId++) {
+			OrderInformation order = random.nextInt(20) == 0
+					? new OrderInformation(orderId, null, 1, null, null, null, 500001, 10)
+					: new OrderInformation(orderId, text(random, "mail" + orderId + "@"), random.nextInt(9), text(random, "name" + orderId),
+							text(random, "9" + orderId), text(random, "city" + orderId), 500000 + random.nextInt(100), random.nextInt(10_000));
+			store.put(order);
+			written.put(orderId, order);
+			assertTrue(store.read(orderId, view), "the order just written is hot");
+			assertEquals(order, view.toOrder());
+			// an older order is either gone or intact
+			long older = 1 + random.nextInt((int) orderId);
+			if (store.read(older, view)) {
+				assertEquals(written.get(older), view.toOrder());
+			}
+		}
+		for (Map.Entry<Long, OrderInformation> order : written.entrySet()) {
+			if (store.read(order.getKey(), view)) {
+				assertEquals(order.getValue(), view.toOrder());
+				hot++;
+			}
+		}
+		assertTrue(hot > 1_000 && hot < written.size(), "the arena wrapped and kept the newest orders, hot=" + hot);
+	}
+
+	private static String text(Random random, String prefix) {
+		int length = random.nextInt(6) == 0 ? 0 : random.nextInt(150);
+		if (random.nextInt(10) == 0) {
+			return null;
+		}
+		StringBuilder text = new StringBuilder(prefix);
+		for (int i = 0; i < length; i++) {
+			// some multi-byte characters as well
+			text.append(i % 7 == 0 ? 'é' : (char) ('a' + i % 26));
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,137 @@
+package com.training.springboot.ingest;
+
+import static com.training.springboot.ingest.OrderJournalTests.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.training.springboot.entity.OrderInformation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+// the writer against a mocked EntityManager, the transaction manager does nothing
+class OrderIngestQueueTests {
+
+	@TempDir
+	Path dir;
+
+	EntityManager entityManager = mock(EntityManager.class);
+
+	private OrderIngestQueue queue(int flushSize) throws Exception {
+		OrderIngestQueue queue = new OrderIngestQueue();
+		ReflectionTestUtils.setField(queue, "entityManager", entityManager);
+		ReflectionTestUtils.setField(queue, "transactionManager", mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(queue, "capacity", 100);
+		ReflectionTestUtils.setField(queue, "flushSize", flushSize);
+		ReflectionTestUtils.setField(queue, "flushIntervalMillis", 20L);
+		ReflectionTestUtils.setField(queue, "acceptTimeoutMillis", 1000L);
+		ReflectionTestUtils.setField(queue, "journalDir", dir.resolve("journal").toString());
+		ReflectionTestUtils.setField(queue, "journalSync", false);
+		ReflectionTestUtils.setField(queue, "deadLetterFile", dir.resolve("orders.dead-letter").toString());
+		queue.start();
+		return queue;
+	}
+
+	@Test
+	void committedOrdersLeaveTheJournal() throws Exception {
+		OrderIngestQueue queue = queue(10);
+		long last = 0;
+		for (long id = 1; id <= 25; id++) {
+			last = queue.submit(order(id));
+		}
+		assertTrue(queue.awaitPersisted(last, 5_000));
+		queue.stop();
+		verify(entityManager).persist(order(25));
+		assertTrue(pending().isEmpty());
+	}
+
+	@Test
+	void journaledOrdersAreReplayedOnStart() throws Exception {
+		try (OrderJournal journal = new OrderJournal(dir.resolve("journal"), false)) {
+			journal.open();
+			journal.append(order(1));
+			journal.append(order(2));
+		}
+		OrderIngestQueue queue = queue(10);
+		assertTrue(queue.awaitPersisted(2, 5_000));
+		queue.stop();
+		// replayed orders may already be in the database, they are merged
+		verify(entityManager).merge(order(1));
+		verify(entityManager).merge(order(2));
+		verify(entityManager, never()).persist(any());
+		assertTrue(pending().isEmpty());
+	}
+
+	@Test
+	void rejectedOrderGoesToTheDeadLetterFile() throws Exception {
+		PersistenceException rejected = new PersistenceException("Data too long for column 'name'");
+		doAnswer(call -> {
+			if (call.<OrderInformation>getArgument(0).getOrderId() == 2) {
+				throw rejected;
+			}
+			return null;
+		}).when(entityManager).persist(any());
+		when(entityManager.merge(order(2))).thenThrow(rejected);
+
+		OrderIngestQueue queue = queue(10);
+		long last = 0;
+		for (long id = 1; id <= 3; id++) {
+			last = queue.submit(order(id));
+		}
+		assertTrue(queue.awaitPersisted(last, 5_000));
+		queue.stop();
+
+		List<String> deadLetters = Files.readAllLines(dir.resolve("orders.dead-letter"));
+		assertEquals(1, deadLetters.size());
+		assertTrue(deadLetters.get(0).startsWith(OrderJournal.encode(2, order(2)).stripTrailing() + "\t"), deadLetters.get(0));
+		assertTrue(deadLetters.get(0).contains("Data too long"));
+		assertEquals(1, queue.getMetrics().getFailed());
+		// the other orders of the batch are written on their own
+		verify(entityManager).merge(order(1));
+		verify(entityManager).merge(order(3));
+		assertTrue(pending().isEmpty());
+	}
+
+	// order 1 cannot be written until shutdown, the orders after it can
+	@Test
+	void ordersGivenUpAtShutdownStayInTheJournal() throws Exception {
+		doAnswer(call -> {
+			if (call.<OrderInformation>getArgument(0).getOrderId() == 1) {
+				throw new QueryTimeoutException("lock wait timeout");
+			}
+			return null;
+		}).when(entityManager).persist(any());
+
+		OrderIngestQueue queue = queue(1);
+		for (long id = 1; id <= 3; id++) {
+			queue.submit(order(id));
+		}
+		Thread.sleep(150);
+		queue.stop();
+
+		assertEquals(List.of(1L, 2L, 3L), pending().stream().map(OrderJournal.Entry::seq).toList());
+	}
+
+	private List<OrderJournal.Entry> pending() throws IOException {
+		try (OrderJournal journal = new OrderJournal(dir.resolve("journal"), false)) {
+			return journal.open();
+		}
+	}
+}
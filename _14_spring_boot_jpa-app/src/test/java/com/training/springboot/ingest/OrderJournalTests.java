@@ -0,0 +1,87 @@
+package com.training.springboot.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.training.springboot.entity.OrderInformation;
+
+class OrderJournalTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void tornLastLineIsCutBeforeTheNextAppend() throws IOException {
+		try (OrderJournal journal = new OrderJournal(dir, true)) {
+			journal.open();
+			journal.append(order(1));
+		}
+		// a crash in the middle of the second append
+		String torn = OrderJournal.encode(2, order(2));
+		Files.writeString(dir.resolve("orders.journal"), torn.substring(0, torn.length() / 2), StandardCharsets.UTF_8,
+				StandardOpenOption.APPEND);
+
+		try (OrderJournal journal = new OrderJournal(dir, true)) {
+			assertEquals(List.of(1L), seqs(journal.open()));
+			assertEquals(2, journal.append(order(3)));
+		}
+		try (OrderJournal journal = new OrderJournal(dir, true)) {
+			List<OrderJournal.Entry> pending = journal.open();
+			assertEquals(List.of(1L, 2L), seqs(pending));
+			assertEquals(order(3), pending.get(1).order());
+		}
+	}
+
+	@Test
+	void onlyTheUncommittedTailIsReplayed() throws IOException {
+		try (OrderJournal journal = new OrderJournal(dir, true)) {
+			journal.open();
+			for (long id = 1; id <= 3; id++) {
+				journal.append(order(id));
+			}
+			journal.checkpoint(2);
+		}
+		try (OrderJournal journal = new OrderJournal(dir, true)) {
+			List<OrderJournal.Entry> pending = journal.open();
+			assertEquals(List.of(3L), seqs(pending));
+			assertEquals(order(3), pending.get(0).order());
+			// everything committed, the journal is emptied
+			journal.checkpoint(3);
+		}
+		assertEquals(0, Files.size(dir.resolve("orders.journal")));
+		try (OrderJournal journal = new OrderJournal(dir, true)) {
+			assertTrue(journal.open().isEmpty());
+			assertEquals(4, journal.append(order(4)));
+		}
+	}
+
+	@Test
+	void fieldsWithSeparatorsAndNullsReadBack() throws IOException {
+		OrderInformation order = new OrderInformation(7, null, 2, "tab\there, new\nline, back\\slash", "", "city", 500001, 12.5);
+		try (OrderJournal journal = new OrderJournal(dir, false)) {
+			journal.open();
+			journal.append(order);
+		}
+		try (OrderJournal journal = new OrderJournal(dir, false)) {
+			assertEquals(order, journal.open().get(0).order());
+		}
+	}
+
+	static OrderInformation order(long id) {
+		return new OrderInformation(id, "mail" + id + "@x.com", 1, "name" + id, "98" + id, "city" + id, 500000 + (int) id, id * 10.0);
+	}
+
+	private static List<Long> seqs(List<OrderJournal.Entry> entries) {
+		return entries.stream().map(OrderJournal.Entry::seq).toList();
+	}
+}
@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import com.training.springboot.advisor.IndexAdvisor;
 import com.training.springboot.entity.Employee;
 import com.training.springboot.service.EmployeeServices;
 
@@ -21,6 +22,8 @@ public class Application {
 //		services.loadAllEmployeesBtEidDesc();
 //		services.loadAllEmployeeCityAsc();
 		services.loadAllEmployeesByCityAndAge();
+//		services.loadTopEmployeesByCityAndAge(10);
+		context.getBean(IndexAdvisor.class).report();
 	}
 
 }
@@ -0,0 +1,199 @@
+package com.training.springboot.advisor;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Watches the filter and sort columns of the repository queries that are actually
+ * executed (see IndexAdvisorRegistrar) and checks whether an existing index starts
+ * with exactly those columns. Shapes without one get a CREATE INDEX suggestion,
+ * or the index itself when auto-create is on. The index is then built on a
+ * background thread with its own connection, never inside the caller's
+ * transaction (MySQL commits it on DDL) and without holding up the query.
+ *
+ * Latency is recorded separately for calls made while the shape had no index and
+ * calls made once it had one, so report() shows the before/after effect.
+ * Sort direction is ignored, an index can be read backwards.
+ */
+@Component
+public class IndexAdvisor {
+
+	private static class ShapeStats {
+		volatile String index;
+		final AtomicBoolean creating = new AtomicBoolean();
+		final LongAdder callsBefore = new LongAdder();
+		final LongAdder nanosBefore = new LongAdder();
+		final LongAdder callsAfter = new LongAdder();
+		final LongAdder nanosAfter = new LongAdder();
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Value("${app.index-advisor.auto-create:false}")
+	private boolean autoCreate;
+	private final Map<QueryShape, ShapeStats> shapes = new ConcurrentHashMap<>();
+	private final ExecutorService ddlExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "index-advisor-ddl");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public void observe(Class<?> domainType, List<String> filterProperties, Sort sort, long nanos) {
+		QueryShape shape = shapeOf(domainType, filterProperties, sort);
+		if (shape == null) {
+			return;
+		}
+		ShapeStats stats = shapes.get(shape);
+		if (stats == null) {
+			// the metadata lookup runs outside the map, a racing call may inspect the same shape too
+			ShapeStats inspected = inspect(shape);
+			stats = shapes.putIfAbsent(shape, inspected);
+			if (stats == null) {
+				stats = inspected;
+				if (stats.index == null && !autoCreate) {
+					System.out.println("index advisor suggests : " + ddl(shape));
+				}
+			}
+		}
+		if (stats.index == null) {
+			stats.callsBefore.increment();
+			stats.nanosBefore.add(nanos);
+			if (autoCreate) {
+				createIndex(shape, stats);
+			}
+		} else {
+			stats.callsAfter.increment();
+			stats.nanosAfter.add(nanos);
+		}
+	}
+
+	public void report() {
+		shapes.forEach((shape, stats) -> {
+			System.out.println("query shape " + shape);
+			System.out.println("   without index : " + average(stats.callsBefore, stats.nanosBefore));
+			System.out.println("   with index    : " + average(stats.callsAfter, stats.nanosAfter));
+			System.out.println(stats.index != null ? "   served by index " + stats.index : "   suggested : " + ddl(shape));
+		});
+	}
+
+	@PreDestroy
+	void stop() {
+		ddlExecutor.shutdownNow();
+	}
+
+	private ShapeStats inspect(QueryShape shape) {
+		ShapeStats stats = new ShapeStats();
+		stats.index = findIndex(shape);
+		return stats;
+	}
+
+	// once per shape; calls keep counting as "without index" until the build is done
+	private void createIndex(QueryShape shape, ShapeStats stats) {
+		if (stats.creating.compareAndSet(false, true)) {
+			ddlExecutor.execute(() -> {
+				String ddl = ddl(shape);
+				try {
+					// no transaction on this thread, the statement gets a connection of its own
+					jdbcTemplate.execute(ddl);
+					stats.index = indexName(shape);
+					System.out.println("index advisor created : " + ddl);
+				} catch (RuntimeException e) {
+					System.out.println("index advisor could not create index, run it by hand : " + ddl + " : " + e.getMessage());
+				}
+			});
+		}
+	}
+
+	private QueryShape shapeOf(Class<?> domainType, List<String> filterProperties, Sort sort) {
+		if (sort.isUnsorted() && filterProperties.isEmpty()) {
+			return null;
+		}
+		AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+				.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().getEntityDescriptor(domainType);
+		Set<String> columns = new LinkedHashSet<>();
+		List<String> properties = new ArrayList<>(filterProperties);
+		sort.forEach(order -> properties.add(order.getProperty()));
+		for (String property : properties) {
+			String[] propertyColumns = persister.getPropertyColumnNames(property);
+			if (propertyColumns.length != 1) {
+				return null;
+			}
+			columns.add(propertyColumns[0].toLowerCase(Locale.ROOT));
+		}
+		return new QueryShape(persister.getRootTableName().toLowerCase(Locale.ROOT), List.copyOf(columns));
+	}
+
+	// name of an index whose leading columns are the shape columns, or null
+	private String findIndex(QueryShape shape) {
+		Map<String, List<String>> indexes = jdbcTemplate.execute((ConnectionCallback<Map<String, List<String>>>) connection -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			Map<String, List<String>> found = readIndexes(metaData, connection.getCatalog(), shape.table());
+			return found.isEmpty() ? readIndexes(metaData, connection.getCatalog(), shape.table().toUpperCase(Locale.ROOT)) : found;
+		});
+		for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+			List<String> columns = index.getValue();
+			if (columns.size() >= shape.columns().size() && columns.subList(0, shape.columns().size()).equals(shape.columns())) {
+				return index.getKey();
+			}
+		}
+		return null;
+	}
+
+	private Map<String, List<String>> readIndexes(DatabaseMetaData metaData, String catalog, String table) throws java.sql.SQLException {
+		Map<String, TreeMap<Short, String>> positions = new LinkedHashMap<>();
+		try (ResultSet rs = metaData.getIndexInfo(catalog, null, table, false, true)) {
+			while (rs.next()) {
+				String name = rs.getString("INDEX_NAME");
+				String column = rs.getString("COLUMN_NAME");
+				if (name != null && column != null) {
+					positions.computeIfAbsent(name, key -> new TreeMap<>()).put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+				}
+			}
+		}
+		Map<String, List<String>> indexes = new LinkedHashMap<>();
+		positions.forEach((name, columns) -> indexes.put(name, List.copyOf(columns.values())));
+		return indexes;
+	}
+
+	private String indexName(QueryShape shape) {
+		String name = "idx_" + shape.table() + "_" + String.join("_", shape.columns());
+		return name.length() > 64 ? name.substring(0, 64) : name;
+	}
+
+	private String ddl(QueryShape shape) {
+		return "create index " + indexName(shape) + " on " + shape.table() + " (" + String.join(", ", shape.columns()) + ")";
+	}
+
+	private String average(LongAdder calls, LongAdder nanos) {
+		long count = calls.sum();
+		return count == 0 ? "no calls" : count + " calls, avg " + String.format("%.2f", nanos.sum() / 1_000_000.0 / count) + " ms";
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.training.springboot.advisor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hooks the {@link IndexAdvisor} into every Spring Data repository. For each call it
+ * takes the sort from Sort / Pageable arguments and, for derived finders such as
+ * findByCityOrderByAge, the filter and sort properties from the method name.
+ */
+@Component
+class IndexAdvisorRegistrar implements BeanPostProcessor {
+
+	private final ObjectProvider<IndexAdvisor> advisor;
+
+	IndexAdvisorRegistrar(ObjectProvider<IndexAdvisor> advisor) {
+		this.advisor = advisor;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) {
+		if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+			factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+					(proxyFactory, information) -> proxyFactory.addAdvice(interceptor(information))));
+		}
+		return bean;
+	}
+
+	private MethodInterceptor interceptor(RepositoryInformation information) {
+		Map<Method, PartTree> derivedQueries = new ConcurrentHashMap<>();
+		return invocation -> {
+			long start = System.nanoTime();
+			Object result = invocation.proceed();
+			long nanos = System.nanoTime() - start;
+			Method method = invocation.getMethod();
+			List<String> filter = new ArrayList<>();
+			Sort sort = Sort.unsorted();
+			if (information.isQueryMethod(method) && !AnnotatedElementUtils.hasAnnotation(method, Query.class)) {
+				PartTree tree = derivedQueries.computeIfAbsent(method, key -> new PartTree(key.getName(), information.getDomainType()));
+				tree.getParts().forEach(part -> filter.add(part.getProperty().toDotPath()));
+				sort = tree.getSort();
+			}
+			for (Object argument : invocation.getArguments()) {
+				if (argument instanceof Sort dynamic) {
+					sort = sort.and(dynamic);
+				} else if (argument instanceof Pageable pageable) {
+					sort = sort.and(pageable.getSort());
+				}
+			}
+			try {
+				advisor.getObject().observe(information.getDomainType(), filter, sort, nanos);
+			} catch (RuntimeException e) {
+				// advice only, never fail the query because of it
+				System.out.println("index advisor skipped " + method.getName() + " : " + e.getMessage());
+			}
+			return result;
+		};
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.training.springboot.advisor;
+
+import java.util.List;
+
+// the columns a query filters on (in order) followed by the columns it sorts on
+public record QueryShape(String table, List<String> columns) {
+
+	@Override
+	public String toString() {
+		return table + "(" + String.join(", ", columns) + ")";
+	}
+
+}
@@ -3,6 +3,7 @@ package com.training.springboot.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,7 +13,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name="employee")
+// indexes for the sort orders used by EmployeeServices
+@Table(name="employee", indexes = {
+		@Index(name = "idx_employee_name", columnList = "name"),
+		@Index(name = "idx_employee_city_age", columnList = "city, age") })
 public class Employee {
   @Id
   @Column(name="emp_id")
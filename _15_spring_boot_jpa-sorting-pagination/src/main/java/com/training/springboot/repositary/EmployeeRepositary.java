@@ -1,9 +1,17 @@
 package com.training.springboot.repositary;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.training.springboot.entity.Employee;
 
 public interface EmployeeRepositary extends JpaRepository<Employee, Long> {
 
+	// only the rows of the requested page, without the count query of findAll(Pageable)
+	@Query("select e from Employee e")
+	List<Employee> findAllBy(Pageable pageable);
+
 }
@@ -3,6 +3,7 @@ package com.training.springboot.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Component;
@@ -44,6 +45,19 @@ public class EmployeeServices {
 		List<Employee> employees = employeeRepositary.findAll(Sort.by("city","age"));
 		employees.forEach(System.out::println);
 	}
+	// top-N : the database can stop after n rows of the index instead of sorting the whole table
+	public List<Employee> loadTopEmployees(Sort sort, int n) {
+		return employeeRepositary.findAllBy(PageRequest.of(0, n, sort));
+	}
+	public void loadTopEmployeesByName(int n) {
+		loadTopEmployees(Sort.by("name"), n).forEach(System.out::println);
+	}
+	public void loadTopEmployeesByCity(int n) {
+		loadTopEmployees(Sort.by("city"), n).forEach(System.out::println);
+	}
+	public void loadTopEmployeesByCityAndAge(int n) {
+		loadTopEmployees(Sort.by("city","age"), n).forEach(System.out::println);
+	}
 }
 
 
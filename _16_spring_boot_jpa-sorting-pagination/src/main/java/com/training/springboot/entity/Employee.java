@@ -5,7 +5,9 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,7 +17,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name="employees")
+@EntityListeners(EmployeeCountListener.class)
+@Table(name="employees", indexes = @Index(name = "idx_employees_name_emp_id", columnList = "name, emp_id"))
 public class Employee {
 	@Id
 	@Column(name="emp_id")
@@ -0,0 +1,34 @@
+package com.training.springboot.entity;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.training.springboot.services.EmployeeCountCache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+
+// created by Hibernate through Spring, so it can be autowired
+public class EmployeeCountListener {
+
+	@Autowired
+	private EmployeeCountCache employeeCountCache;
+
+	// flush time is before the commit, a count taken in between would still see the old rows
+	@PostPersist
+	@PostRemove
+	public void employeeAddedOrRemoved(Employee employee) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					employeeCountCache.invalidate();
+				}
+			});
+		} else {
+			employeeCountCache.invalidate();
+		}
+	}
+
+}
@@ -1,9 +1,33 @@
 package com.training.springboot.repositary;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.training.springboot.entity.Employee;
 
 public interface EmployeeRepositary extends JpaRepository<Employee, Long> {
 
+	// same rows as findAll(Pageable) but without the count query
+	@Query("select e from Employee e")
+	Slice<Employee> findSliceBy(Pageable pageable);
+
+	// keyset (seek) pagination : continue after the last row of the previous page
+	// instead of skipping pageNo*size rows, Slice fetches size+1 rows and runs no count query
+	@Query("select e from Employee e order by e.empId")
+	Slice<Employee> keysetFirstPage(Pageable pageable);
+
+	@Query("select e from Employee e where e.empId > :empId order by e.empId")
+	Slice<Employee> keysetPageAfter(@Param("empId") Long empId, Pageable pageable);
+
+	// name is not unique, empId breaks the ties ; employees without a name are not listed
+	@Query("select e from Employee e where e.name is not null order by e.name, e.empId")
+	Slice<Employee> keysetFirstPageByName(Pageable pageable);
+
+	// name >= :name gives the index a start key, the or only filters the rows of that one name
+	@Query("select e from Employee e where e.name >= :name and (e.name > :name or e.empId > :empId) order by e.name, e.empId")
+	Slice<Employee> keysetPageAfterName(@Param("name") String name, @Param("empId") Long empId, Pageable pageable);
+
 }
@@ -0,0 +1,76 @@
+package com.training.springboot.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the total row count of paginated employee queries, so a page costs
+ * one query for its rows instead of rows + count(*).
+ *
+ * Counts are cached per filter for ttl-ms and dropped once a transaction that
+ * inserted or deleted an employee through JPA commits (see EmployeeCountListener).
+ * A count that was still being taken during the invalidation is not kept.
+ * In estimated mode the unfiltered total is read from the table statistics
+ * (information_schema.tables.table_rows), which is cheap but only approximate;
+ * databases without those statistics fall back to the exact count.
+ */
+@Component
+public class EmployeeCountCache {
+
+	public static final String ALL = "all";
+
+	private record CachedCount(long count, long expiresAt, long generation) {
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Value("${app.employee.count.ttl-ms:30000}")
+	private long ttlMillis;
+	// exact : select count(*) , estimated : table statistics
+	@Value("${app.employee.count.mode:exact}")
+	private String mode;
+	private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+	// moves on every invalidation, counts taken before it are stale
+	private final AtomicLong generation = new AtomicLong();
+
+	public long count(String filter, LongSupplier exactCount) {
+		long now = System.currentTimeMillis();
+		long current = generation.get();
+		CachedCount cached = counts.get(filter);
+		if (cached != null && cached.expiresAt() > now && cached.generation() == current) {
+			return cached.count();
+		}
+		Long estimate = ALL.equals(filter) && "estimated".equals(mode) ? estimatedCount() : null;
+		long count = estimate != null ? estimate : exactCount.getAsLong();
+		counts.put(filter, new CachedCount(count, now + ttlMillis, current));
+		return count;
+	}
+
+	public void invalidate() {
+		generation.incrementAndGet();
+		counts.clear();
+	}
+
+	// null when the database keeps no such statistics
+	private Long estimatedCount() {
+		try {
+			List<Long> rows = jdbcTemplate.queryForList(
+					"select table_rows from information_schema.tables where table_schema = database() and table_name = 'employees'",
+					Long.class);
+			return rows.isEmpty() ? null : rows.get(0);
+		} catch (DataAccessException e) {
+			// e.g. H2 has no table_rows column
+			return null;
+		}
+	}
+
+}
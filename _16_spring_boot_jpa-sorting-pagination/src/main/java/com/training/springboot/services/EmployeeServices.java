@@ -1,11 +1,15 @@
 package com.training.springboot.services;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 import com.training.springboot.entity.Employee;
@@ -16,15 +20,68 @@ public class EmployeeServices {
 
 	@Autowired
 	private EmployeeRepositary employeeRepositary;
+	@Autowired
+	private EmployeeCountCache employeeCountCache;
 	// page : 3 records
 	// page number : i/p
 	// no of records : 1/p
 	public void loadAllEmployees() {
-		 Page<Employee> page = employeeRepositary.findAll(Pageable.ofSize(5));
+		 Page<Employee> page = getEmployeePage(Pageable.ofSize(5));
 		 List<Employee> employees = page.getContent();
 		 employees.forEach(System.out::println);
 	}
 	public void getEmployeeDetails(int pageNo,int recordsPerPage) {
-	 employeeRepositary.findAll(PageRequest.of(pageNo, recordsPerPage)).getContent();
+	 getEmployeePage(PageRequest.of(pageNo, recordsPerPage)).getContent();
+	}
+	// one query for the rows, the total comes from the count cache
+	public Page<Employee> getEmployeePage(Pageable pageable) {
+		Slice<Employee> slice = employeeRepositary.findSliceBy(pageable);
+		long total = employeeCountCache.count(EmployeeCountCache.ALL, employeeRepositary::count);
+		return new PageImpl<>(slice.getContent(), pageable, total);
+	}
+	// keyset pagination ordered by empId, token is null for the first page
+	public KeysetPage<Employee> getEmployeesAfter(String token, int recordsPerPage) {
+		Pageable limit = PageRequest.ofSize(recordsPerPage);
+		Slice<Employee> slice = token == null
+				? employeeRepositary.keysetFirstPage(limit)
+				: employeeRepositary.keysetPageAfter(Long.valueOf(decode(token)), limit);
+		String next = slice.hasNext() ? encode(String.valueOf(last(slice).getEmpId())) : null;
+		return new KeysetPage<>(slice.getContent(), next, slice.hasNext());
+	}
+	// keyset pagination ordered by name then empId, token is null for the first page
+	public KeysetPage<Employee> getEmployeesByNameAfter(String token, int recordsPerPage) {
+		Pageable limit = PageRequest.ofSize(recordsPerPage);
+		Slice<Employee> slice;
+		if (token == null) {
+			slice = employeeRepositary.keysetFirstPageByName(limit);
+		} else {
+			String key = decode(token);
+			int separator = key.lastIndexOf('|');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid page token: " + token);
+			}
+			slice = employeeRepositary.keysetPageAfterName(key.substring(0, separator),
+					Long.valueOf(key.substring(separator + 1)), limit);
+		}
+		String next = null;
+		if (slice.hasNext()) {
+			Employee last = last(slice);
+			next = encode(last.getName() + "|" + last.getEmpId());
+		}
+		return new KeysetPage<>(slice.getContent(), next, slice.hasNext());
+	}
+	private Employee last(Slice<Employee> slice) {
+		List<Employee> content = slice.getContent();
+		return content.get(content.size() - 1);
+	}
+	private String encode(String key) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+	private String decode(String token) {
+		try {
+			return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid page token: " + token, e);
+		}
 	}
 }
@@ -0,0 +1,7 @@
+package com.training.springboot.services;
+
+import java.util.List;
+
+// one page of a keyset listing, pass nextToken back to get the following page
+public record KeysetPage<T>(List<T> content, String nextToken, boolean hasNext) {
+}
@@ -18,6 +18,8 @@ public class Application {
 	    //operations.getEmployeeBySalaryAndWorkinHour();
 	   // operations.addEmployeeData();
 	    operations.deleteEmployeeById(1L);
+	    //context.getBean(EmployeeExporter.class).exportToCsv(Path.of("employees.csv"));
+	    //context.getBean(EmployeeEmailCache.class).report();
 	}
  
 }
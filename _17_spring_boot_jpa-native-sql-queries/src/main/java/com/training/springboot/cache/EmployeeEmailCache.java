@@ -0,0 +1,155 @@
+package com.training.springboot.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.training.springboot.model.Employee;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Read-through cache for the login / profile lookups by email and by email + gender.
+ *
+ * Entries are bounded by max-size and expire ttl after they were loaded. An empty
+ * result is cached too, for the shorter negative-ttl, so repeated lookups of an
+ * unknown address do not reach the database either. The address is stripped and
+ * lower cased, and the loader is given that form, so every spelling of an address
+ * shares one entry that holds what the database returns for it (the email column
+ * collation ignores case). An invalidation only has to drop the exact keys of an
+ * address. Inside a transaction it waits for the commit, a lookup in between would
+ * otherwise cache the row as missing again.
+ * The cached employees are shared and must not be modified.
+ */
+@Component
+public class EmployeeEmailCache {
+
+	// gender is null for the email only lookup, it is used as given
+	private record EmailKey(String email, String gender) {
+		EmailKey {
+			email = normalize(email);
+		}
+	}
+
+	@Value("${app.employee.email-cache.max-size:10000}")
+	private long maxSize;
+	@Value("${app.employee.email-cache.ttl:10m}")
+	private Duration ttl;
+	@Value("${app.employee.email-cache.negative-ttl:30s}")
+	private Duration negativeTtl;
+
+	private Cache<EmailKey, List<Employee>> cache;
+	// every gender looked up so far, an address has at most one cached entry per gender
+	private final Set<String> genders = ConcurrentHashMap.newKeySet();
+	private final LatencyHistogram hitLatency = new LatencyHistogram();
+	private final LatencyHistogram missLatency = new LatencyHistogram();
+
+	@PostConstruct
+	void build() {
+		cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(Expiry.creating((EmailKey key, List<Employee> employees) -> employees.isEmpty() ? negativeTtl : ttl))
+				.recordStats()
+				.build();
+	}
+
+	// the loader is called with the normalized address
+	public List<Employee> getByEmail(String email, Function<String, List<Employee>> loader) {
+		EmailKey key = new EmailKey(email, null);
+		return get(key, () -> loader.apply(key.email()));
+	}
+
+	public List<Employee> getByEmailAndGender(String email, String gender, BiFunction<String, String, List<Employee>> loader) {
+		EmailKey key = new EmailKey(email, gender);
+		if (key.gender() != null) {
+			genders.add(key.gender());
+		}
+		return get(key, () -> loader.apply(key.email(), key.gender()));
+	}
+
+	private List<Employee> get(EmailKey key, Supplier<List<Employee>> loader) {
+		long start = System.nanoTime();
+		boolean[] loaded = { false };
+		List<Employee> employees = cache.get(key, k -> {
+			loaded[0] = true;
+			return List.copyOf(loader.get());
+		});
+		(loaded[0] ? missLatency : hitLatency).record(System.nanoTime() - start);
+		return employees;
+	}
+
+	// drops the email lookup and every email + gender lookup of that address
+	public void invalidate(String email) {
+		invalidate(List.of(email));
+	}
+
+	public void invalidate(Collection<String> emails) {
+		List<EmailKey> keys = new ArrayList<>();
+		for (String email : emails) {
+			if (email != null) {
+				keys.add(new EmailKey(email, null));
+				genders.forEach(gender -> keys.add(new EmailKey(email, gender)));
+			}
+		}
+		// a lookup running right now finishes first, invalidating its key waits for it
+		afterCommit(() -> cache.invalidateAll(keys));
+	}
+
+	public void invalidateAll() {
+		afterCommit(cache::invalidateAll);
+	}
+
+	public CacheStats getStats() {
+		return cache.stats();
+	}
+
+	public LatencyHistogram getHitLatency() {
+		return hitLatency;
+	}
+
+	public LatencyHistogram getMissLatency() {
+		return missLatency;
+	}
+
+	public void report() {
+		CacheStats stats = cache.stats();
+		System.out.println("email cache : size=" + cache.estimatedSize() + ", hits=" + stats.hitCount() + ", misses="
+				+ stats.missCount() + ", hit%=" + String.format("%.1f", stats.hitRate() * 100) + ", evictions="
+				+ stats.evictionCount());
+		System.out.println("  hit latency  : " + hitLatency);
+		System.out.println("  miss latency : " + missLatency);
+	}
+
+	private static void afterCommit(Runnable invalidation) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					invalidation.run();
+				}
+			});
+		} else {
+			invalidation.run();
+		}
+	}
+
+	private static String normalize(String value) {
+		return value == null ? null : value.strip().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,54 @@
+package com.training.springboot.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram with power of ten buckets, from under 10 us to over 100 ms.
+ */
+public class LatencyHistogram {
+
+	private static final long[] UPPER_BOUNDS_MICROS = { 10, 100, 1_000, 10_000, 100_000 };
+	private static final String[] LABELS = { "<10us", "<100us", "<1ms", "<10ms", "<100ms", ">=100ms" };
+
+	private final LongAdder[] buckets = new LongAdder[LABELS.length];
+	private final LongAdder totalMicros = new LongAdder();
+
+	public LatencyHistogram() {
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	public void record(long nanos) {
+		long micros = nanos / 1_000;
+		int bucket = 0;
+		while (bucket < UPPER_BOUNDS_MICROS.length && micros >= UPPER_BOUNDS_MICROS[bucket]) {
+			bucket++;
+		}
+		buckets[bucket].increment();
+		totalMicros.add(micros);
+	}
+
+	public long getCount() {
+		long count = 0;
+		for (LongAdder bucket : buckets) {
+			count += bucket.sum();
+		}
+		return count;
+	}
+
+	public double getAverageMicros() {
+		long count = getCount();
+		return count == 0 ? 0 : (double) totalMicros.sum() / count;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("count=").append(getCount())
+				.append(", avg=").append(String.format("%.1f", getAverageMicros())).append(" us [");
+		for (int i = 0; i < buckets.length; i++) {
+			text.append(i == 0 ? "" : ", ").append(LABELS[i]).append('=').append(buckets[i].sum());
+		}
+		return text.append(']').toString();
+	}
+}
@@ -0,0 +1,16 @@
+package com.training.springboot.projection;
+
+// columns answered from idx_employees_salary_working_hour alone, the table row is never read
+public interface EmployeeSalaryView {
+
+	Long getEmpId();
+
+	String getName();
+
+	String getEmail();
+
+	Double getSalary();
+
+	Float getWorkingHour();
+
+}
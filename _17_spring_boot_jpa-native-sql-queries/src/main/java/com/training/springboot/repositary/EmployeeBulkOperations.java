@@ -0,0 +1,15 @@
+package com.training.springboot.repositary;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.training.springboot.model.Employee;
+
+// bulk writes for sync jobs : one transaction and a few round trips instead of one per row
+public interface EmployeeBulkOperations {
+
+	int addEmployees(List<Employee> employees);
+
+	int deleteEmployeesByIds(Collection<Long> ids);
+
+}
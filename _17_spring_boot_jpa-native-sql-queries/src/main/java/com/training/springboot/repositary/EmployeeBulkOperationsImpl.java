@@ -0,0 +1,115 @@
+package com.training.springboot.repositary;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.training.springboot.model.Employee;
+
+import jakarta.annotation.PostConstruct;
+
+// implementation of EmployeeBulkOperations, found by spring data through the Impl suffix
+class EmployeeBulkOperationsImpl implements EmployeeBulkOperations {
+
+	private static final String INSERT_SQL = "INSERT INTO employees (emp_id, dob, email, gender, is_married, joined_at, mobile_no, name, password, salary, working_hour) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	// rows per jdbc batch, the driver rewrites a batch into one multi row insert
+	@Value("${app.employee.batch-size:1000}")
+	private int batchSize;
+	// ids per IN list, keeps each statement well below the packet and parameter limits
+	@Value("${app.employee.delete-chunk-size:1000}")
+	private int deleteChunkSize;
+
+	// a chunk of 0 ids would never move the delete loop forward
+	@PostConstruct
+	void checkSizes() {
+		if (batchSize <= 0 || deleteChunkSize <= 0) {
+			throw new IllegalStateException("app.employee.batch-size and delete-chunk-size must be positive, got "
+					+ batchSize + " and " + deleteChunkSize);
+		}
+	}
+
+	@Override
+	@Transactional
+	public int addEmployees(List<Employee> employees) {
+		// checked before the first batch, so a bad row does not leave half a batch sent
+		for (int i = 0; i < employees.size(); i++) {
+			if (employees.get(i) == null || employees.get(i).getEmpId() == null) {
+				throw new IllegalArgumentException("employee " + i + " has no empId");
+			}
+		}
+		long start = System.nanoTime();
+		int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, employees, batchSize, EmployeeBulkOperationsImpl::bind);
+		int inserted = 0;
+		for (int[] batch : counts) {
+			for (int count : batch) {
+				// rewritten batches report SUCCESS_NO_INFO instead of a row count,
+				// EXECUTE_FAILED (-3) rows are not inserted
+				if (count > 0) {
+					inserted += count;
+				} else if (count == Statement.SUCCESS_NO_INFO) {
+					inserted++;
+				}
+			}
+		}
+		report("inserted", inserted, start);
+		return inserted;
+	}
+
+	@Override
+	@Transactional
+	public int deleteEmployeesByIds(Collection<Long> ids) {
+		long start = System.nanoTime();
+		List<Long> all = new ArrayList<>(ids);
+		if (all.contains(null)) {
+			throw new IllegalArgumentException("ids must not contain null");
+		}
+		String fullChunkSql = deleteSql(Math.min(deleteChunkSize, all.size()));
+		int deleted = 0;
+		for (int from = 0; from < all.size(); from += deleteChunkSize) {
+			List<Long> chunk = all.subList(from, Math.min(from + deleteChunkSize, all.size()));
+			// every chunk but the last reuses the same statement text
+			String sql = chunk.size() == deleteChunkSize ? fullChunkSql : deleteSql(chunk.size());
+			deleted += jdbcTemplate.update(sql, chunk.toArray());
+		}
+		report("deleted", deleted, start);
+		return deleted;
+	}
+
+	private static String deleteSql(int ids) {
+		return "DELETE FROM employees WHERE emp_id IN (" + String.join(",", Collections.nCopies(ids, "?")) + ")";
+	}
+
+	// dates are bound as LocalDate / LocalDateTime, no string parsing on either side
+	private static void bind(PreparedStatement ps, Employee employee) throws SQLException {
+		ps.setLong(1, employee.getEmpId());
+		ps.setObject(2, employee.getDob(), Types.DATE);
+		ps.setString(3, employee.getEmail());
+		ps.setString(4, employee.getGender());
+		ps.setObject(5, employee.getIsMarried(), Types.BOOLEAN);
+		ps.setObject(6, employee.getJoinedAt(), Types.TIMESTAMP);
+		ps.setObject(7, employee.getMobileNo(), Types.BIGINT);
+		ps.setString(8, employee.getName());
+		ps.setString(9, employee.getPassword());
+		ps.setObject(10, employee.getSalary(), Types.DOUBLE);
+		ps.setObject(11, employee.getWorkingHour(), Types.FLOAT);
+	}
+
+	private static void report(String action, int rows, long start) {
+		long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		System.out.println(action + " " + rows + " employees in " + millis + " ms (" + rows * 1000L / millis + " rows/sec)");
+	}
+}
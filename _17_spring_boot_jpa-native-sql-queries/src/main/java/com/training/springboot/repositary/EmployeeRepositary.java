@@ -1,23 +1,37 @@
 package com.training.springboot.repositary;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.training.springboot.model.Employee;
+import com.training.springboot.projection.EmployeeSalaryView;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 
 @Repository
-public interface EmployeeRepositary extends JpaRepository<Employee, Long>{
+public interface EmployeeRepositary extends JpaRepository<Employee, Long>, EmployeeBulkOperations{
 
 	// indexed query parameter
 	@Query(value="SELECT * from employees",nativeQuery = true)
 	List<Employee> getAllEmployees();
+
+	// same query through a forward only cursor : rows arrive in fetch size chunks and are never
+	// dirty checked. call inside a transaction and close the stream
+	@Query(value="SELECT * from employees",nativeQuery = true)
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<Employee> streamAllEmployees();
 	
 	@Query(value = "select * from employees where email=?1", nativeQuery = true)
 	List<Employee> getAllEmployeeByEmail(String email);
@@ -27,6 +41,10 @@ public interface EmployeeRepositary extends JpaRepository<Employee, Long>{
 	// named query parameter
 	@Query(value="select * from employees where salary< :salary and working_hour < :workinghour",nativeQuery = true)
 	List<Employee> getEmployeeBySalaryAndWorkinHour(@Param("salary") Double salary,@Param("workinghour") Float workinghour);
+
+	// covering variant : only indexed columns, served by idx_employees_salary_working_hour
+	@Query(value="select emp_id as empId, name, email, salary, working_hour as workingHour from employees where salary< :salary and working_hour < :workinghour",nativeQuery = true)
+	List<EmployeeSalaryView> getEmployeeSalaryViewBySalaryAndWorkinHour(@Param("salary") Double salary,@Param("workinghour") Float workinghour);
 	
 	@Modifying
 	@Transactional
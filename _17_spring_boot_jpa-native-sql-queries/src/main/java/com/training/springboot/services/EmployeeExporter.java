@@ -0,0 +1,89 @@
+package com.training.springboot.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.training.springboot.model.Employee;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes the employees table to a CSV file while the rows arrive.
+ * A forward only, read only cursor keeps one fetch of rows in memory, the
+ * persistence context is cleared and the file flushed after every chunk.
+ */
+@Service
+public class EmployeeExporter {
+
+	private static final String HEADER = "emp_id,name,email,gender,mobile_no,is_married,working_hour,salary,dob,joined_at";
+
+	@Autowired
+	private EntityManager entityManager;
+	// rows per round trip to the database
+	@Value("${app.export.fetch-size:1000}")
+	private int fetchSize;
+	// rows written between two flushes of the file and of the persistence context
+	@Value("${app.export.chunk-size:10000}")
+	private int chunkSize;
+
+	@Transactional(readOnly = true)
+	public long exportToCsv(Path file) {
+		long start = System.nanoTime();
+		long rows = 0;
+		Session session = entityManager.unwrap(Session.class);
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+				ScrollableResults<Employee> results = session
+						.createNativeQuery("SELECT * from employees", Employee.class)
+						.setFetchSize(fetchSize)
+						.setReadOnly(true)
+						.scroll(ScrollMode.FORWARD_ONLY)) {
+			writer.write(HEADER);
+			writer.newLine();
+			while (results.next()) {
+				writer.write(toCsv(results.get()));
+				writer.newLine();
+				if (++rows % chunkSize == 0) {
+					writer.flush();
+					session.clear();
+					System.out.println("exported " + rows + " employees");
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Export to " + file + " failed after " + rows + " rows", e);
+		}
+		long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		System.out.println("exported " + rows + " employees to " + file + " in " + millis + " ms (" + rows * 1000 / millis + " rows/sec)");
+		return rows;
+	}
+
+	// the password column is never exported
+	private static String toCsv(Employee employee) {
+		return employee.getEmpId() + "," + value(employee.getName()) + "," + value(employee.getEmail()) + ","
+				+ value(employee.getGender()) + "," + value(employee.getMobileNo()) + "," + value(employee.getIsMarried()) + ","
+				+ value(employee.getWorkingHour()) + "," + value(employee.getSalary()) + "," + value(employee.getDob()) + ","
+				+ value(employee.getJoinedAt());
+	}
+
+	private static String value(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String text = value.toString();
+		if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+			return '"' + text.replace("\"", "\"\"") + '"';
+		}
+		return text;
+	}
+}
@@ -1,43 +1,81 @@
 package com.training.springboot.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.training.springboot.cache.EmployeeEmailCache;
 import com.training.springboot.model.Employee;
+import com.training.springboot.projection.EmployeeSalaryView;
 import com.training.springboot.repositary.EmployeeRepositary;
 
+import jakarta.persistence.EntityManager;
+
 @Service
 public class EmployeeOperations {
 
 	@Autowired
 	private EmployeeRepositary employeeRepositary;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private EmployeeEmailCache employeeEmailCache;
 	// Native sql:
+	@Transactional(readOnly = true)
 	public void getAllEmployees() {
-		List<Employee> list = employeeRepositary.getAllEmployees();
-		list.forEach(System.out::println);
+		forEachEmployee(System.out::println);
+	}
+	// streams the whole table, memory stays flat however many rows there are
+	@Transactional(readOnly = true)
+	public void forEachEmployee(Consumer<Employee> consumer) {
+		int[] count = {0};
+		try (Stream<Employee> employees = employeeRepositary.streamAllEmployees()) {
+			employees.forEach(employee -> {
+				consumer.accept(employee);
+				// read only entities are still held by the persistence context, let them go
+				if (++count[0] % 1000 == 0) {
+					entityManager.clear();
+				}
+			});
+		}
 	}
 	public void getAllEmployeesByEamil(String eamil) {
-		List<Employee> list = employeeRepositary.getAllEmployeeByEmail(eamil);
+		List<Employee> list = findEmployeesByEmail(eamil);
 		list.forEach(System.out::println);
 	}
 	public void getAllEmployeesByEamilAndGender(String eamil,String gender) {
-		List<Employee> list = employeeRepositary.getAllEmployeesByEmailAndGender(eamil,gender);
+		List<Employee> list = findEmployeesByEmailAndGender(eamil,gender);
 		list.forEach(System.out::println);
 	}
+	// login / profile lookups : answered from the email cache, the query runs on a miss only
+	public List<Employee> findEmployeesByEmail(String email) {
+		return employeeEmailCache.getByEmail(email, employeeRepositary::getAllEmployeeByEmail);
+	}
+	public List<Employee> findEmployeesByEmailAndGender(String email,String gender) {
+		return employeeEmailCache.getByEmailAndGender(email, gender, employeeRepositary::getAllEmployeesByEmailAndGender);
+	}
 	
 	public void  getEmployeeBySalaryAndWorkinHour() {
 		List<Employee> list = employeeRepositary. getEmployeeBySalaryAndWorkinHour(500000.0,55.0f);
 		list.forEach(System.out::println);
 	}
+	// only the listed columns, read from the index
+	public List<EmployeeSalaryView> getEmployeeSalaryViewBySalaryAndWorkinHour(Double salary,Float workingHour) {
+		return employeeRepositary.getEmployeeSalaryViewBySalaryAndWorkinHour(salary, workingHour);
+	}
 	
 
     public void addEmployeeData() {
+        String email = "raushan786267@gmail.com";
         int result = employeeRepositary.addEmployee(
                 101L,
                 "1999-10-15",
-                "raushan786267@gmail.com",
+                email,
                 "Male",
                 false,
                 "2024-05-10",
@@ -47,16 +85,34 @@ public class EmployeeOperations {
                 500000.0,
                 55.0f
         );
+        // a cached "not found" for this address is no longer true
+        employeeEmailCache.invalidate(email);
 
         if (result > 0)
             System.out.println("✅ Employee inserted successfully!");
         else
             System.out.println("❌ Failed to insert employee!");
     }
+    // sync jobs : many rows in one transaction, dates stay typed
+    public int addEmployees(List<Employee> employees) {
+        int inserted = employeeRepositary.addEmployees(employees);
+        employeeEmailCache.invalidate(employees.stream().map(Employee::getEmail).toList());
+        return inserted;
+    }
+    public int deleteEmployeesByIds(Collection<Long> ids) {
+        int deleted = employeeRepositary.deleteEmployeesByIds(ids);
+        // cheaper than looking up the address of every deleted id
+        employeeEmailCache.invalidateAll();
+        return deleted;
+    }
     public void deleteEmployeeById(Long id) {
        
-
+        // the cache is keyed by email, so find the address before the row is gone
+        String email = employeeRepositary.findById(id).map(Employee::getEmail).orElse(null);
         employeeRepositary.deleteEmployeeById(id);
+        if (email != null) {
+            employeeEmailCache.invalidate(email);
+        }
 
         System.out.println("🗑️ Employees with salary less than " + id + " have been deleted.");
     }
@@ -0,0 +1,66 @@
+package com.training.springboot.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.training.springboot.model.Employee;
+import com.training.springboot.services.EmployeeOperations;
+
+// IGNORECASE stands in for the case insensitive collation of the MySQL email column
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:email-cache;MODE=MySQL;IGNORECASE=TRUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false" })
+class EmployeeEmailCacheTests {
+
+	@Autowired
+	EmployeeOperations employeeOperations;
+	@Autowired
+	EmployeeEmailCache employeeEmailCache;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Test
+	void everySpellingOfAnAddressFindsTheEmployee() {
+		employeeOperations.addEmployees(List.of(employee(1, "Foo@x.com")));
+		long misses = employeeEmailCache.getStats().missCount();
+
+		assertEquals(1, employeeOperations.findEmployeesByEmail(" Foo@x.com").size());
+		assertEquals(1, employeeOperations.findEmployeesByEmail("FOO@X.COM ").size());
+		assertEquals(1, employeeOperations.findEmployeesByEmail("Foo@x.com").size());
+		assertEquals(1, employeeOperations.findEmployeesByEmailAndGender(" foo@x.com", "Male").size());
+		assertTrue(employeeOperations.findEmployeesByEmailAndGender("foo@x.com", "Female").isEmpty());
+		// one query for the email lookup and one per gender
+		assertEquals(misses + 3, employeeEmailCache.getStats().missCount());
+	}
+
+	@Test
+	void cachedNotFoundIsDroppedWhenTheInsertCommits() {
+		assertTrue(employeeOperations.findEmployeesByEmail("New@x.com").isEmpty());
+		assertTrue(employeeOperations.findEmployeesByEmailAndGender("new@x.com", "Male").isEmpty());
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			employeeOperations.addEmployees(List.of(employee(2, "new@x.com")));
+			// not committed yet, other transactions still see no employee
+			assertTrue(employeeOperations.findEmployeesByEmail(" new@x.com").isEmpty());
+		});
+
+		assertEquals(1, employeeOperations.findEmployeesByEmail("new@x.com").size());
+		assertEquals(1, employeeOperations.findEmployeesByEmailAndGender("NEW@x.com", "Male").size());
+	}
+
+	private static Employee employee(long id, String email) {
+		return new Employee(id, "employee" + id, email, "pass", "Male", null, false, 40f, 50_000d, null, null);
+	}
+}
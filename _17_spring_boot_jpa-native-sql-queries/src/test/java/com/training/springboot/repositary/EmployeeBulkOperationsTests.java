@@ -0,0 +1,84 @@
+package com.training.springboot.repositary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.training.springboot.model.Employee;
+
+// small batches and chunks, so a handful of rows already spans several of them
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:bulk-operations;MODE=MySQL",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false",
+		"app.employee.batch-size=4",
+		"app.employee.delete-chunk-size=3" })
+class EmployeeBulkOperationsTests {
+
+	@Autowired
+	EmployeeRepositary employeeRepositary;
+
+	@BeforeEach
+	void emptyTable() {
+		employeeRepositary.deleteAllInBatch();
+	}
+
+	@Test
+	void insertsEveryBatch() {
+		assertEquals(10, employeeRepositary.addEmployees(employees(1, 10)));
+		assertEquals(10, employeeRepositary.count());
+	}
+
+	@Test
+	void deletesAcrossChunksAndCountsOnlyExistingRows() {
+		employeeRepositary.addEmployees(employees(1, 10));
+
+		// 8 ids : two full chunks of 3 and a last one of 2, id 99 does not exist
+		assertEquals(7, employeeRepositary.deleteEmployeesByIds(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 99L)));
+		assertEquals(List.of(8L, 9L, 10L), employeeRepositary.findAll().stream().map(Employee::getEmpId).sorted().toList());
+		assertEquals(0, employeeRepositary.deleteEmployeesByIds(List.of()));
+	}
+
+	@Test
+	void rejectsMissingIdsBeforeWriting() {
+		List<Employee> employees = new ArrayList<>(employees(1, 5));
+		employees.add(employee(null));
+
+		// the repository proxy translates the IllegalArgumentException
+		assertThrows(InvalidDataAccessApiUsageException.class, () -> employeeRepositary.addEmployees(employees));
+		assertEquals(0, employeeRepositary.count());
+		assertThrows(InvalidDataAccessApiUsageException.class, () -> employeeRepositary.deleteEmployeesByIds(Arrays.asList(1L, null)));
+	}
+
+	@Test
+	void rejectsNonPositiveSizes() {
+		EmployeeBulkOperationsImpl operations = new EmployeeBulkOperationsImpl();
+		ReflectionTestUtils.setField(operations, "batchSize", 1000);
+		ReflectionTestUtils.setField(operations, "deleteChunkSize", 0);
+
+		assertThrows(IllegalStateException.class, operations::checkSizes);
+	}
+
+	private static List<Employee> employees(long from, long to) {
+		return LongStream.rangeClosed(from, to).mapToObj(EmployeeBulkOperationsTests::employee).toList();
+	}
+
+	private static Employee employee(Long id) {
+		return new Employee(id, "employee" + id, "employee" + id + "@x.com", "pass", "Male", null, false, 40f, 50_000d, null, null);
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.training.springboot.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.training.springboot.Application;
+import com.training.springboot.impl.ProductDetails;
+import com.training.springboot.impl.ProductManagement;
+
+// inserted rows per second of ProductManagement.saveProducts(Iterable) for a few
+// app.product.batch-size values, against one update per product as before the batching
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductInsertBenchmark {
+
+	private static final int PRODUCTS = 1000;
+
+	@Param({ "1", "50", "500" })
+	int batchSize;
+
+	ConfigurableApplicationContext context;
+	ProductManagement productManagement;
+	JdbcTemplate jdbcTemplate;
+	int nextId;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkContext.start(Application.class, "--app.product.batch-size=" + batchSize);
+		productManagement = context.getBean(ProductManagement.class);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+	}
+
+	// every iteration inserts into an empty table
+	@Setup(Level.Iteration)
+	public void resetTable() {
+		jdbcTemplate.update("delete from product");
+		nextId = 1;
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		BenchmarkContext.stop(context);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PRODUCTS)
+	public int saveProducts() {
+		return productManagement.saveProducts(nextProducts());
+	}
+
+	// does not depend on batchSize, it is the same for every value
+	@Benchmark
+	@OperationsPerInvocation(PRODUCTS)
+	public int oneByOne() {
+		int saved = 0;
+		for (ProductDetails product : nextProducts()) {
+			saved += jdbcTemplate.update("Insert into product values(?,?,?)", product.getPid(), product.getPname(), product.getPrice());
+		}
+		return saved;
+	}
+
+	private List<ProductDetails> nextProducts() {
+		List<ProductDetails> products = new ArrayList<>(PRODUCTS);
+		for (int id = nextId; id < nextId + PRODUCTS; id++) {
+			ProductDetails product = new ProductDetails();
+			product.setPid(id);
+			product.setPname("product-" + id);
+			product.setPrice(id % 1000 * 10.0);
+			products.add(product);
+		}
+		nextId += PRODUCTS;
+		return products;
+	}
+}
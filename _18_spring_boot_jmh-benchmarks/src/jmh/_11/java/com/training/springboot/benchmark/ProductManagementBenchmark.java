@@ -0,0 +1,96 @@
+package com.training.springboot.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.training.springboot.Application;
+import com.training.springboot.impl.ProductDetails;
+import com.training.springboot.impl.ProductDetailsRowMapper;
+import com.training.springboot.impl.ProductManagement;
+
+// ProductManagement of _11 : the forward only select, and the positional ProductDetailsRowMapper against BeanPropertyRowMapper on the same rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductManagementBenchmark {
+
+	@Param({ "10000", "1000000" })
+	int rows;
+
+	ConfigurableApplicationContext context;
+	ProductManagement productManagement;
+	JdbcTemplate jdbcTemplate;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkContext.start(Application.class);
+		productManagement = context.getBean(ProductManagement.class);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+		jdbcTemplate.update("delete from product");
+		productManagement.saveProducts(products(1, rows));
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		BenchmarkContext.stop(context);
+	}
+
+	// what loadAllProducts does, without printing every column
+	@Benchmark
+	public void loadAllProducts(Blackhole blackhole) {
+		productManagement.forEachProduct(blackhole::consume);
+	}
+
+	@Benchmark
+	public void productDetailsRowMapper(Blackhole blackhole) {
+		mapAll(new ProductDetailsRowMapper(), blackhole);
+	}
+
+	@Benchmark
+	public void beanPropertyRowMapper(Blackhole blackhole) {
+		mapAll(BeanPropertyRowMapper.newInstance(ProductDetails.class), blackhole);
+	}
+
+	// rows are consumed one by one, only the mapping differs between the two benchmarks
+	private void mapAll(RowMapper<ProductDetails> mapper, Blackhole blackhole) {
+		int[] rowNum = { 0 };
+		jdbcTemplate.query("select * from product", rs -> {
+			blackhole.consume(mapper.mapRow(rs, rowNum[0]++));
+		});
+	}
+
+	private static List<ProductDetails> products(int firstId, int count) {
+		List<ProductDetails> products = new ArrayList<>(count);
+		for (int id = firstId; id < firstId + count; id++) {
+			ProductDetails product = new ProductDetails();
+			product.setPid(id);
+			product.setPname("product-" + id);
+			product.setPrice(id % 1000 * 10.0);
+			products.add(product);
+		}
+		return products;
+	}
+}
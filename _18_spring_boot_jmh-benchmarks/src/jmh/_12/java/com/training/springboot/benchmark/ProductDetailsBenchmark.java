@@ -0,0 +1,123 @@
+package com.training.springboot.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.training.springboot.Application;
+import com.training.springboot.entity.ProductDetails;
+import com.training.springboot.operations.DatabaseOperationTwo;
+import com.training.springboot.projection.ProductSummary;
+import com.training.springboot.repositary.ProductDetailsRepositary;
+
+// DatabaseOperationTwo / ProductDetailsRepositary of _12 : batched persist against saveAll, entities against projections
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductDetailsBenchmark {
+
+	// ids of the listed products, addMoreProducts uses 222..225 and the inserts start above them
+	private static final int FIRST_LISTED_ID = 1_000;
+	private static final int FIRST_INSERTED_ID = 1_000_000;
+
+	@Param("10000")
+	int rows;
+	@Param("500")
+	int batch;
+
+	ConfigurableApplicationContext context;
+	DatabaseOperationTwo databaseOperationTwo;
+	ProductDetailsRepositary productDetailsRepositary;
+	int nextId;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkContext.start(Application.class);
+		databaseOperationTwo = context.getBean(DatabaseOperationTwo.class);
+		productDetailsRepositary = context.getBean(ProductDetailsRepositary.class);
+		productDetailsRepositary.insertAll(products(FIRST_LISTED_ID, rows));
+	}
+
+	@Setup(Level.Iteration)
+	public void resetTable() {
+		productDetailsRepositary.deleteByProductIdRange(FIRST_INSERTED_ID, Integer.MAX_VALUE);
+		nextId = FIRST_INSERTED_ID;
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		BenchmarkContext.stop(context);
+	}
+
+	// the four fixed products have to go again before the next call
+	@Benchmark
+	public void addMoreProducts(RemoveFixedProducts cleanup) {
+		databaseOperationTwo.addMoreProducts();
+	}
+
+	@Benchmark
+	public int insertAll() {
+		return productDetailsRepositary.insertAll(nextBatch());
+	}
+
+	@Benchmark
+	public List<ProductDetails> saveAll() {
+		return productDetailsRepositary.saveAll(nextBatch());
+	}
+
+	@Benchmark
+	public List<ProductDetails> findAll() {
+		return productDetailsRepositary.findAll();
+	}
+
+	@Benchmark
+	public List<ProductSummary> findAllProjectedBy() {
+		return productDetailsRepositary.findAllProjectedBy();
+	}
+
+	@Benchmark
+	public void forEachProduct(Blackhole blackhole) {
+		databaseOperationTwo.forEachProduct(blackhole::consume);
+	}
+
+	private List<ProductDetails> nextBatch() {
+		List<ProductDetails> products = products(nextId, batch);
+		nextId += batch;
+		return products;
+	}
+
+	private static List<ProductDetails> products(int firstId, int count) {
+		List<ProductDetails> products = new ArrayList<>(count);
+		for (int id = firstId; id < firstId + count; id++) {
+			products.add(new ProductDetails(id, "product-" + id, id % 1000 * 10.0));
+		}
+		return products;
+	}
+
+	@State(Scope.Thread)
+	public static class RemoveFixedProducts {
+		@TearDown(Level.Invocation)
+		public void remove(ProductDetailsBenchmark benchmark) {
+			benchmark.productDetailsRepositary.deleteByProductIdRange(222, 226);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.training.springboot.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.training.springboot.Application;
+import com.training.springboot.modal.Employee;
+import com.training.springboot.repositary.EmployeeRepositary;
+
+// derived finders of the _13 EmployeeRepositary, with the second level and query cache of the module
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeFinderBenchmark {
+
+	private static final String[] CITIES = { "delhi", "mumbai", "pune", "chennai", "kolkata", "bangalore", "hyderabad", "jaipur" };
+	private static final String[] COUNTRIES = { "india", "usa", "uk", "germany" };
+	private static final String[] GENDERS = { "male", "female" };
+
+	@Param("5000")
+	int rows;
+
+	ConfigurableApplicationContext context;
+	EmployeeRepositary employeeRepositary;
+	int call;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkContext.start(Application.class);
+		employeeRepositary = context.getBean(EmployeeRepositary.class);
+		List<Employee> employees = new ArrayList<>(rows);
+		for (int id = 1; id <= rows; id++) {
+			employees.add(new Employee(id, "employee-" + id, 20 + id % 40, 10_000 + id % 90_000,
+					CITIES[id % CITIES.length], GENDERS[id % GENDERS.length], COUNTRIES[id % COUNTRIES.length]));
+		}
+		employeeRepositary.saveAll(employees);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		BenchmarkContext.stop(context);
+	}
+
+	@Benchmark
+	public Optional<Employee> findById() {
+		return employeeRepositary.findById((long) (call++ % rows + 1));
+	}
+
+	@Benchmark
+	public List<Employee> findByCity() {
+		return employeeRepositary.findByCity(CITIES[call++ % CITIES.length]);
+	}
+
+	@Benchmark
+	public List<Employee> findByGender() {
+		return employeeRepositary.findByGender(GENDERS[call++ % GENDERS.length]);
+	}
+
+	@Benchmark
+	public List<Employee> findByCountry() {
+		return employeeRepositary.findByCountry(COUNTRIES[call++ % COUNTRIES.length]);
+	}
+
+	@Benchmark
+	public List<Employee> findByGenderAndCountry() {
+		int next = call++;
+		return employeeRepositary.findByGenderAndCountry(GENDERS[next % GENDERS.length], COUNTRIES[next % COUNTRIES.length]);
+	}
+
+	@Benchmark
+	public List<Employee> findByGenderOrCity() {
+		int next = call++;
+		return employeeRepositary.findByGenderOrCity(GENDERS[next % GENDERS.length], CITIES[next % CITIES.length]);
+	}
+}
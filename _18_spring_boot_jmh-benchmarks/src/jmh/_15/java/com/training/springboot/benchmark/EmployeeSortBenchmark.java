@@ -0,0 +1,105 @@
+package com.training.springboot.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.training.springboot.Application;
+import com.training.springboot.entity.Employee;
+import com.training.springboot.repositary.EmployeeRepositary;
+import com.training.springboot.service.EmployeeServices;
+
+// Sort and Pageable queries of _15 : full sorted listing, pages with and without count query, top-N
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSortBenchmark {
+
+	private static final String[] CITIES = { "delhi", "mumbai", "pune", "chennai", "kolkata", "bangalore", "hyderabad", "jaipur" };
+	private static final Sort BY_NAME = Sort.by("name");
+	private static final Sort BY_CITY_AND_AGE = Sort.by("city", "age");
+
+	@Param("5000")
+	int rows;
+	@Param("20")
+	int pageSize;
+	@Param("10")
+	int topN;
+
+	ConfigurableApplicationContext context;
+	EmployeeRepositary employeeRepositary;
+	EmployeeServices employeeServices;
+	int page;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkContext.start(Application.class);
+		employeeRepositary = context.getBean(EmployeeRepositary.class);
+		employeeServices = context.getBean(EmployeeServices.class);
+		List<Employee> employees = new ArrayList<>(rows);
+		for (long id = 1; id <= rows; id++) {
+			employees.add(new Employee(id, "employee-" + (id * 7919 % rows), 20 + (int) (id % 40), 10_000 + id % 90_000,
+					CITIES[(int) (id % CITIES.length)], id % 2 == 0 ? "male" : "female", "india"));
+		}
+		employeeRepositary.saveAll(employees);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		BenchmarkContext.stop(context);
+	}
+
+	@Benchmark
+	public List<Employee> findAllSortedByCityAndAge() {
+		return employeeRepositary.findAll(BY_CITY_AND_AGE);
+	}
+
+	// Page : rows of the page plus a count query
+	@Benchmark
+	public Page<Employee> findAllPageSortedByName() {
+		return employeeRepositary.findAll(PageRequest.of(nextPage(), pageSize, BY_NAME));
+	}
+
+	// List : rows of the page only
+	@Benchmark
+	public List<Employee> findAllBySortedByName() {
+		return employeeRepositary.findAllBy(PageRequest.of(nextPage(), pageSize, BY_NAME));
+	}
+
+	@Benchmark
+	public List<Employee> loadTopEmployeesByName() {
+		return employeeServices.loadTopEmployees(BY_NAME, topN);
+	}
+
+	@Benchmark
+	public List<Employee> loadTopEmployeesByCityAndAge() {
+		return employeeServices.loadTopEmployees(BY_CITY_AND_AGE, topN);
+	}
+
+	// walks every page, so shallow and deep offsets are both measured
+	private int nextPage() {
+		page = (page + 1) % (rows / pageSize);
+		return page;
+	}
+}
@@ -0,0 +1,107 @@
+package com.training.springboot.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.training.springboot.Application;
+import com.training.springboot.entity.Employee;
+import com.training.springboot.services.EmployeeServices;
+import com.training.springboot.services.KeysetPage;
+
+// latency of one page of _16 at a fixed depth : offset against keyset by empId and by name + empId.
+// page 100000 of 20 rows needs 2M rows, every benchmark reads the same page again and again.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EmployeePagingBenchmark {
+
+	@Param("2000000")
+	int rows;
+	@Param("20")
+	int pageSize;
+	// 1 based
+	@Param({ "1", "100000" })
+	int page;
+
+	ConfigurableApplicationContext context;
+	EmployeeServices employeeServices;
+	PageRequest offsetRequest;
+	String idToken;
+	String nameToken;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkContext.start(Application.class);
+		employeeServices = context.getBean(EmployeeServices.class);
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		// names are a permutation of the ids, so the name order differs from the id order
+		List<Object[]> batch = new ArrayList<>(10_000);
+		for (long id = 1; id <= rows; id++) {
+			batch.add(new Object[] { id, "employee-" + (id * 7919 % rows), "employee" + id + "@mail.com" });
+			if (batch.size() == 10_000 || id == rows) {
+				jdbcTemplate.batchUpdate("insert into employees (emp_id, name, email) values (?, ?, ?)", batch);
+				batch.clear();
+			}
+		}
+		offsetRequest = PageRequest.of(page - 1, pageSize);
+		// the continuation tokens the previous page would have returned
+		if (page > 1) {
+			int skipped = (page - 1) * pageSize;
+			idToken = token(String.valueOf(skipped));
+			Map<String, Object> last = jdbcTemplate.queryForMap(
+					"select name, emp_id from employees order by name, emp_id limit 1 offset ?", skipped - 1);
+			nameToken = token(last.get("name") + "|" + last.get("emp_id"));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		BenchmarkContext.stop(context);
+	}
+
+	// limit/offset : the database skips (page - 1) * pageSize rows, the total comes from the count cache
+	@Benchmark
+	public Page<Employee> offsetPage() {
+		return employeeServices.getEmployeePage(offsetRequest);
+	}
+
+	@Benchmark
+	public KeysetPage<Employee> keysetPageByEmpId() {
+		return employeeServices.getEmployeesAfter(idToken, pageSize);
+	}
+
+	@Benchmark
+	public KeysetPage<Employee> keysetPageByName() {
+		return employeeServices.getEmployeesByNameAfter(nameToken, pageSize);
+	}
+
+	// same encoding as EmployeeServices
+	private static String token(String key) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+}
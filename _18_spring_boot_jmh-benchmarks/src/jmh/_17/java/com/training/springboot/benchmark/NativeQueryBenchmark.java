@@ -0,0 +1,127 @@
+package com.training.springboot.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.training.springboot.Application;
+import com.training.springboot.model.Employee;
+import com.training.springboot.projection.EmployeeSalaryView;
+import com.training.springboot.repositary.EmployeeRepositary;
+import com.training.springboot.services.EmployeeOperations;
+
+// native queries of the _17 EmployeeRepositary, and the cached email lookup in front of them
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NativeQueryBenchmark {
+
+	private static final String[] GENDERS = { "male", "female" };
+
+	@Param("10000")
+	int rows;
+	// emails looked up over and over, as a cache would see them
+	@Param("100")
+	int hotEmails;
+
+	ConfigurableApplicationContext context;
+	EmployeeRepositary employeeRepositary;
+	EmployeeOperations employeeOperations;
+	TransactionTemplate readOnly;
+	int call;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkContext.start(Application.class);
+		employeeRepositary = context.getBean(EmployeeRepositary.class);
+		employeeOperations = context.getBean(EmployeeOperations.class);
+		readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		readOnly.setReadOnly(true);
+		List<Employee> employees = new ArrayList<>(rows);
+		for (long id = 1; id <= rows; id++) {
+			employees.add(new Employee(id, "employee-" + id, email(id), "secret", GENDERS[(int) (id % 2)],
+					9_000_000_000L + id, id % 3 == 0, 4f + id % 8, 10_000d + id * 37 % 90_000,
+					LocalDate.of(1980, 1, 1).plusDays(id % 7_000), LocalDateTime.of(2015, 1, 1, 9, 0).plusHours(id)));
+		}
+		employeeRepositary.addEmployees(employees);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		BenchmarkContext.stop(context);
+	}
+
+	@Benchmark
+	public List<Employee> getAllEmployees() {
+		return employeeRepositary.getAllEmployees();
+	}
+
+	@Benchmark
+	public void streamAllEmployees(Blackhole blackhole) {
+		readOnly.executeWithoutResult(status -> {
+			try (Stream<Employee> employees = employeeRepositary.streamAllEmployees()) {
+				employees.forEach(blackhole::consume);
+			}
+		});
+	}
+
+	@Benchmark
+	public List<Employee> getAllEmployeeByEmail() {
+		return employeeRepositary.getAllEmployeeByEmail(email(nextHotId()));
+	}
+
+	@Benchmark
+	public List<Employee> getAllEmployeesByEmailAndGender() {
+		long id = nextHotId();
+		return employeeRepositary.getAllEmployeesByEmailAndGender(email(id), GENDERS[(int) (id % 2)]);
+	}
+
+	// same emails as getAllEmployeeByEmail, through the EmployeeEmailCache
+	@Benchmark
+	public List<Employee> findEmployeesByEmailCached() {
+		return employeeOperations.findEmployeesByEmail(email(nextHotId()));
+	}
+
+	// about a tenth of the rows match, the bound moves so no result is reused
+	@Benchmark
+	public List<Employee> getEmployeeBySalaryAndWorkinHour() {
+		return employeeRepositary.getEmployeeBySalaryAndWorkinHour(30_000d + call++ % 1_000, 8f);
+	}
+
+	@Benchmark
+	public List<EmployeeSalaryView> getEmployeeSalaryViewBySalaryAndWorkinHour() {
+		return employeeRepositary.getEmployeeSalaryViewBySalaryAndWorkinHour(30_000d + call++ % 1_000, 8f);
+	}
+
+	private long nextHotId() {
+		return call++ % hotEmails + 1;
+	}
+
+	private static String email(long id) {
+		return "employee" + id + "@mail.com";
+	}
+}
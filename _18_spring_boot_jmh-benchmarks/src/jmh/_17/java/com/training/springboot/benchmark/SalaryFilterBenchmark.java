@@ -0,0 +1,108 @@
+package com.training.springboot.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.training.springboot.Application;
+import com.training.springboot.model.Employee;
+import com.training.springboot.projection.EmployeeSalaryView;
+import com.training.springboot.repositary.EmployeeRepositary;
+
+// the salary / working hour range filter of the _17 EmployeeRepositary with and without
+// idx_employees_salary_working_hour, for the entity query and the covering projection.
+// 10M rows by default, in an H2 file database under java.io.tmpdir
+// (a few GB, removed again after the trial); -p rows=200000 gives a quick run.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SalaryFilterBenchmark {
+
+	private static final String INDEX = "idx_employees_salary_working_hour";
+	private static final int LOAD_CHUNK = 100_000;
+	private static final String DATABASE = Path.of(System.getProperty("java.io.tmpdir"), "salary-filter-bench").toString();
+
+	@Param("10000000")
+	int rows;
+	@Param({ "true", "false" })
+	boolean indexed;
+
+	ConfigurableApplicationContext context;
+	EmployeeRepositary employeeRepositary;
+	int call;
+
+	@Setup(Level.Trial)
+	public void start() throws IOException {
+		deleteDatabase();
+		// ddl-auto=create starts from an empty table, the database closes with the context
+		context = BenchmarkContext.start(Application.class,
+				"--spring.datasource.url=jdbc:h2:file:" + DATABASE + ";MODE=MySQL;QUERY_CACHE_SIZE=0");
+		employeeRepositary = context.getBean(EmployeeRepositary.class);
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		// the index as the entity declares it, dropped for the load and built once at the end :
+		// kept up to date row by row, the 10M inserts take several times longer
+		List<String> columns = jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS"
+				+ " WHERE INDEX_NAME = ? ORDER BY ORDINAL_POSITION", String.class, INDEX.toUpperCase());
+		jdbcTemplate.execute("DROP INDEX " + INDEX);
+		// salaries between 10k and 1M and 20 to 70 working hours, the filter below matches about 0.05%
+		Random random = new Random(42);
+		List<Employee> employees = new ArrayList<>(LOAD_CHUNK);
+		for (long id = 1; id <= rows; id++) {
+			employees.add(new Employee(id, "employee" + id, "employee" + id + "@mail.com", "pass", id % 2 == 0 ? "Male" : "Female",
+					null, false, 20 + random.nextFloat() * 50, 10_000 + random.nextDouble() * 990_000, null, null));
+			if (employees.size() == LOAD_CHUNK || id == rows) {
+				employeeRepositary.addEmployees(employees);
+				employees.clear();
+			}
+		}
+		if (indexed) {
+			jdbcTemplate.execute("CREATE INDEX " + INDEX + " ON employees (" + String.join(", ", columns) + ")");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() throws IOException {
+		BenchmarkContext.stop(context);
+		deleteDatabase();
+	}
+
+	private static void deleteDatabase() throws IOException {
+		for (String suffix : List.of(".mv.db", ".trace.db")) {
+			Files.deleteIfExists(Path.of(DATABASE + suffix));
+		}
+	}
+
+	// the bound moves by one per call, so no result cache can answer it
+	@Benchmark
+	public List<Employee> entity() {
+		return employeeRepositary.getEmployeeBySalaryAndWorkinHour(20_000d + call++ % 1_000, 22f);
+	}
+
+	@Benchmark
+	public List<EmployeeSalaryView> projection() {
+		return employeeRepositary.getEmployeeSalaryViewBySalaryAndWorkinHour(20_000d + call++ % 1_000, 22f);
+	}
+}
@@ -0,0 +1,62 @@
+package com.training.springboot.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application of the module under test against an in-memory H2 database.
+ *
+ * The module keeps its own application.properties (batch sizes, caches, fetch sizes),
+ * only the datasource is replaced. Command line arguments are used for that because
+ * they win over application.properties; an argument given to start replaces the
+ * default for the same property. The main method of the module is not called,
+ * its command line runners and @PostConstruct methods do run.
+ */
+public final class BenchmarkContext {
+
+	// one database per benchmark jvm, JMH forks a new jvm for every benchmark.
+	// QUERY_CACHE_SIZE=0 : H2 would otherwise answer a repeated query from its result cache
+	private static final String URL = "jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0";
+
+	private BenchmarkContext() {
+	}
+
+	public static ConfigurableApplicationContext start(Class<?> application, String... args) {
+		List<String> all = new ArrayList<>();
+		// spring joins repeated options with a comma, so an overridden default is left out
+		for (String option : List.of(
+				"--spring.datasource.url=" + URL,
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.jpa.hibernate.ddl-auto=create",
+				"--spring.jpa.show-sql=false",
+				"--spring.main.banner-mode=off",
+				"--logging.level.root=WARN")) {
+			String key = option.substring(0, option.indexOf('=') + 1);
+			if (Arrays.stream(args).noneMatch(arg -> arg.startsWith(key))) {
+				all.add(option);
+			}
+		}
+		all.addAll(List.of(args));
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+				.web(WebApplicationType.NONE)
+				.run(all.toArray(String[]::new));
+		// the modules report every batch and row on System.out, that would be measured too
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		return context;
+	}
+
+	public static void stop(ConfigurableApplicationContext context) {
+		if (context != null) {
+			context.close();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.training.springboot.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares JMH json results with a baseline and fails when a benchmark got slower.
+ *
+ * Arguments : results file, baseline file, threshold (0.10 = 10%), update baseline (true/false).
+ * Throughput scores must not drop by more than the threshold, time per operation scores
+ * must not rise by more than it. Without a baseline (or when asked to) the results become the baseline.
+ * Benchmarks missing from the baseline are reported but never fail the check.
+ */
+public class RegressionCheck {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			throw new IllegalArgumentException("usage: RegressionCheck <results.json> <baseline.json> <threshold> [updateBaseline]");
+		}
+		Path results = Path.of(args[0]);
+		Path baseline = Path.of(args[1]);
+		double threshold = Double.parseDouble(args[2]);
+		boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+		if (!Files.exists(results)) {
+			throw new IllegalStateException("No benchmark results at " + results);
+		}
+		if (update || !Files.exists(baseline)) {
+			Files.createDirectories(baseline.toAbsolutePath().getParent());
+			Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+			System.out.println("benchmark baseline recorded : " + baseline);
+			return;
+		}
+
+		List<String> regressions = compare(read(baseline), read(results), threshold);
+		if (!regressions.isEmpty()) {
+			throw new IllegalStateException(regressions.size() + " benchmark(s) regressed by more than "
+					+ Math.round(threshold * 100) + "% against " + baseline + " :\n  " + String.join("\n  ", regressions));
+		}
+		System.out.println("no benchmark regressed by more than " + Math.round(threshold * 100) + "% against " + baseline);
+	}
+
+	static List<String> compare(Map<String, JsonNode> baseline, Map<String, JsonNode> current, double threshold) {
+		List<String> regressions = new ArrayList<>();
+		current.forEach((key, run) -> {
+			JsonNode before = baseline.get(key);
+			double score = run.path("primaryMetric").path("score").asDouble();
+			String unit = run.path("primaryMetric").path("scoreUnit").asText();
+			if (before == null) {
+				System.out.printf("%-90s %14.3f %s (new)%n", key, score, unit);
+				return;
+			}
+			double previous = before.path("primaryMetric").path("score").asDouble();
+			// thrpt : higher is better, avgt / sample / ss : lower is better
+			boolean higherIsBetter = "thrpt".equals(run.path("mode").asText());
+			double change = previous == 0 ? 0 : (score - previous) / previous;
+			boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+			String line = String.format("%-90s %14.3f %s (baseline %.3f, %+.1f%%)", key, score, unit, previous, change * 100);
+			System.out.println((regressed ? "REGRESSED " : "") + line);
+			if (regressed) {
+				regressions.add(line);
+			}
+		});
+		return regressions;
+	}
+
+	// benchmark name and its @Param values identify a score
+	static Map<String, JsonNode> read(Path file) throws IOException {
+		Map<String, JsonNode> runs = new LinkedHashMap<>();
+		for (JsonNode run : MAPPER.readTree(file.toFile())) {
+			Map<String, String> params = new TreeMap<>();
+			run.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+			String key = run.path("benchmark").asText() + ":" + run.path("mode").asText() + (params.isEmpty() ? "" : params);
+			runs.put(key, run);
+		}
+		return runs;
+	}
+}
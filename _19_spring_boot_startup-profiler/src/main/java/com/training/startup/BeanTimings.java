@@ -0,0 +1,81 @@
+package com.training.startup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Own time of every bean created during a refresh, taken from the spring.beans.instantiate steps
+ * of a BufferingApplicationStartup. Creating a bean includes creating the beans it depends on,
+ * so the time of the nested instantiate steps is subtracted.
+ *
+ * Every measured jvm appends its beans to beans-&lt;mode&gt;.tsv (run, bean, nanos), the report reads them back.
+ */
+final class BeanTimings {
+
+	private static final String INSTANTIATE = "spring.beans.instantiate";
+
+	private BeanTimings() {
+	}
+
+	static Map<String, Long> ownNanos(StartupTimeline timeline) {
+		List<TimelineEvent> instantiations = new ArrayList<>();
+		Map<Long, Long> nestedNanos = new HashMap<>();
+		for (TimelineEvent event : timeline.getEvents()) {
+			StartupStep step = event.getStartupStep();
+			if (INSTANTIATE.equals(step.getName())) {
+				instantiations.add(event);
+				if (step.getParentId() != null) {
+					nestedNanos.merge(step.getParentId(), event.getDuration().toNanos(), Long::sum);
+				}
+			}
+		}
+		Map<String, Long> own = new LinkedHashMap<>();
+		for (TimelineEvent event : instantiations) {
+			long nanos = event.getDuration().toNanos() - nestedNanos.getOrDefault(event.getStartupStep().getId(), 0L);
+			own.merge(beanName(event.getStartupStep()), Math.max(0, nanos), Long::sum);
+		}
+		return own;
+	}
+
+	static void append(Path file, String run, Map<String, Long> own) throws IOException {
+		StringBuilder lines = new StringBuilder();
+		own.forEach((bean, nanos) -> lines.append(run).append('\t').append(bean).append('\t').append(nanos).append('\n'));
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Files.writeString(file, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	// run -> bean -> own nanos
+	static Map<String, Map<String, Long>> read(Path file) throws IOException {
+		Map<String, Map<String, Long>> runs = new LinkedHashMap<>();
+		if (!Files.exists(file)) {
+			return runs;
+		}
+		for (String line : Files.readAllLines(file)) {
+			String[] columns = line.split("\t");
+			if (columns.length == 3) {
+				runs.computeIfAbsent(columns[0], run -> new LinkedHashMap<>()).put(columns[1], Long.parseLong(columns[2]));
+			}
+		}
+		return runs;
+	}
+
+	private static String beanName(StartupStep step) {
+		for (StartupStep.Tag tag : step.getTags()) {
+			if ("beanName".equals(tag.getKey())) {
+				return tag.getValue();
+			}
+		}
+		return "?";
+	}
+}
@@ -0,0 +1,88 @@
+package com.training.startup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Time from new SpringApplication to a refreshed context (runners included), in a fresh jvm every time,
+ * so class loading and a cold JIT are part of it as on a real start.
+ *
+ * baseline : classpath scan, reflective autowiring, every singleton created during the refresh
+ * index    : META-INF/spring.components instead of the classpath scan
+ * lazy     : singletons created on first use
+ * aot      : bean definitions generated by process-aot
+ * optimized: the optimized mode of the module, AOT + index + its "optimized" profile (lazy initialization)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+	public static final String[] MODES = { "baseline", "index", "lazy", "aot", "optimized" };
+
+	@Param({ "baseline", "index", "lazy", "aot", "optimized" })
+	String mode;
+
+	Class<?> application;
+	BufferingApplicationStartup startup;
+	ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void configure() throws ClassNotFoundException {
+		application = Class.forName(System.getProperty("startup.application"));
+		// both are read once per jvm, before the first refresh
+		System.setProperty("spring.index.ignore", String.valueOf(!uses("index")));
+		System.setProperty("spring.aot.enabled", String.valueOf(uses("aot")));
+	}
+
+	@Benchmark
+	public ConfigurableApplicationContext start() {
+		SpringApplication springApplication = new SpringApplication(application);
+		// the AOT initializer is looked up by the name of the main class, which is not on this stack
+		springApplication.setMainApplicationClass(application);
+		startup = new BufferingApplicationStartup(10_000);
+		springApplication.setApplicationStartup(startup);
+		if ("lazy".equals(mode)) {
+			springApplication.setLazyInitialization(true);
+		}
+		if ("optimized".equals(mode)) {
+			springApplication.setAdditionalProfiles("optimized");
+		}
+		context = springApplication.run();
+		return context;
+	}
+
+	@TearDown(Level.Iteration)
+	public void recordBeans() throws IOException {
+		if (context != null) {
+			context.close();
+		}
+		Path file = Path.of(System.getProperty("startup.report.dir", "."), "beans-" + mode + ".tsv");
+		BeanTimings.append(file, String.valueOf(ProcessHandle.current().pid()), BeanTimings.ownNanos(startup.getBufferedTimeline()));
+	}
+
+	private boolean uses(String feature) {
+		return mode.equals(feature) || mode.equals("optimized");
+	}
+}
@@ -0,0 +1,135 @@
+package com.training.startup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the StartupBenchmark of one module and reports, per startup mode, the time to a ready context,
+ * the beans created during the refresh and the beans that took the most time in the baseline.
+ *
+ * System properties : startup.suite, startup.application, startup.forks, startup.top, startup.report.dir.
+ * Writes jmh-result.json (raw JMH results) and startup-report.txt next to the bean timings.
+ */
+public class StartupProfiler {
+
+	public static void main(String[] args) throws RunnerException, IOException {
+		String suite = System.getProperty("startup.suite");
+		String application = System.getProperty("startup.application");
+		int forks = Integer.getInteger("startup.forks", 5);
+		int top = Integer.getInteger("startup.top", 15);
+		Path dir = Path.of(System.getProperty("startup.report.dir", "."));
+		for (String mode : StartupBenchmark.MODES) {
+			Files.deleteIfExists(dir.resolve("beans-" + mode + ".tsv"));
+		}
+
+		Options options = new OptionsBuilder()
+				.include(StartupBenchmark.class.getName())
+				.forks(forks)
+				.jvmArgsAppend("-Dstartup.application=" + application, "-Dstartup.report.dir=" + dir.toAbsolutePath())
+				.resultFormat(ResultFormatType.JSON)
+				.result(dir.resolve("jmh-result.json").toString())
+				.build();
+		Collection<RunResult> results = new Runner(options).run();
+
+		String report = report(suite, application, forks, top, results, dir);
+		Files.writeString(dir.resolve("startup-report.txt"), report);
+		System.out.println();
+		System.out.print(report);
+	}
+
+	static String report(String suite, String application, int forks, int top, Collection<RunResult> results, Path dir) throws IOException {
+		Map<String, RunResult> byMode = new HashMap<>();
+		for (RunResult result : results) {
+			byMode.put(result.getParams().getParam("mode"), result);
+		}
+		List<String> modes = new ArrayList<>();
+		Map<String, Map<String, Map<String, Long>>> beans = new HashMap<>();
+		for (String mode : StartupBenchmark.MODES) {
+			if (byMode.containsKey(mode)) {
+				modes.add(mode);
+				beans.put(mode, BeanTimings.read(dir.resolve("beans-" + mode + ".tsv")));
+			}
+		}
+		StringBuilder out = new StringBuilder();
+		out.append("startup of ").append(suite).append(" (").append(application).append("), ")
+				.append(forks).append(" jvm(s) per mode\n");
+		if (modes.isEmpty()) {
+			return out.append("no mode started, see the JMH output above\n").toString();
+		}
+
+		double baseline = byMode.containsKey("baseline") ? byMode.get("baseline").getPrimaryResult().getScore() : Double.NaN;
+		out.append(String.format("%n%-10s %12s %9s %14s %12s%n", "mode", "ready (ms)", "error", "beans created", "vs baseline"));
+		for (String mode : StartupBenchmark.MODES) {
+			if (!modes.contains(mode)) {
+				// e.g. an ambiguous dependency, lazy modes may still start when nothing uses the bean
+				out.append(String.format("%-10s did not start, see the JMH output above%n", mode));
+				continue;
+			}
+			double score = byMode.get(mode).getPrimaryResult().getScore();
+			double error = byMode.get(mode).getPrimaryResult().getScoreError();
+			String change = Double.isNaN(baseline) ? "-" : String.format("%+.1f%%", (score - baseline) / baseline * 100);
+			out.append(String.format("%-10s %12.1f %9.1f %14d %12s%n", mode, score, Double.isNaN(error) ? 0 : error,
+					medianBeanCount(beans.get(mode)), change));
+		}
+
+		// own time of the slowest beans, median over the jvms of a mode, "-" when the bean was not created
+		Map<String, Map<String, Double>> medians = new HashMap<>();
+		for (String mode : modes) {
+			medians.put(mode, medianMillis(beans.get(mode)));
+		}
+		String reference = modes.contains("baseline") ? "baseline" : modes.get(0);
+		List<Map.Entry<String, Double>> slowest = new ArrayList<>(medians.get(reference).entrySet());
+		slowest.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+		out.append(String.format("%nslowest beans in %s, own time in ms (without the beans they depend on)%n", reference));
+		out.append(String.format("%-60s", "bean"));
+		modes.forEach(mode -> out.append(String.format(" %10s", mode)));
+		out.append('\n');
+		for (Map.Entry<String, Double> bean : slowest.subList(0, Math.min(top, slowest.size()))) {
+			out.append(String.format("%-60s", abbreviate(bean.getKey(), 60)));
+			for (String mode : modes) {
+				Double millis = medians.get(mode).get(bean.getKey());
+				out.append(millis == null ? String.format(" %10s", "-") : String.format(" %10.2f", millis));
+			}
+			out.append('\n');
+		}
+		return out.toString();
+	}
+
+	private static long medianBeanCount(Map<String, Map<String, Long>> runs) {
+		List<Long> counts = new ArrayList<>();
+		runs.values().forEach(run -> counts.add((long) run.size()));
+		return counts.isEmpty() ? 0 : median(counts).longValue();
+	}
+
+	private static Map<String, Double> medianMillis(Map<String, Map<String, Long>> runs) {
+		Map<String, List<Long>> nanos = new HashMap<>();
+		runs.values().forEach(run -> run.forEach((bean, value) -> nanos.computeIfAbsent(bean, b -> new ArrayList<>()).add(value)));
+		Map<String, Double> medians = new HashMap<>();
+		nanos.forEach((bean, values) -> medians.put(bean, median(values).doubleValue() / 1_000_000));
+		return medians;
+	}
+
+	private static Long median(List<Long> values) {
+		List<Long> sorted = new ArrayList<>(values);
+		sorted.sort(null);
+		return sorted.get(sorted.size() / 2);
+	}
+
+	private static String abbreviate(String name, int width) {
+		return name.length() <= width ? name : "..." + name.substring(name.length() - width + 3);
+	}
+}